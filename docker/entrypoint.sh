@@ -0,0 +1,31 @@
+#!/bin/sh
+# Starts the AOT-processed jar unless the environment asks for something AOT fixed at build time
+# (see AotConditionsCheck): the virtual profile, virtual threads, replica routing or the
+# enrollment queue. Those need the plain start; the CDS archive is used either way.
+# ACME_AOT=true|false overrides the choice.
+set -e
+
+lower() {
+    printf '%s' "$1" | tr '[:upper:]' '[:lower:]' | tr -d ' '
+}
+
+aot=true
+case ",$(lower "$SPRING_PROFILES_ACTIVE")," in
+    *,virtual,*) aot=false ;;
+esac
+for toggle in "$SPRING_THREADS_VIRTUAL_ENABLED" "$ACME_DATASOURCE_ROUTING_ENABLED" "$ACME_ENROLLMENTQUEUE_ENABLED"; do
+    if [ "$(lower "$toggle")" = "true" ]; then
+        aot=false
+    fi
+done
+for arg in "$@"; do
+    case "$(lower "$arg")" in
+        --spring.profiles.active=*virtual*|--spring.threads.virtual.enabled=true|\
+        --acme.datasource.routing.enabled=true|--acme.enrollment-queue.enabled=true) aot=false ;;
+    esac
+done
+aot=${ACME_AOT:-$aot}
+
+# JAVA_OPTS is split on whitespace on purpose.
+# shellcheck disable=SC2086
+exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled="$aot" $JAVA_OPTS -jar app.jar "$@"
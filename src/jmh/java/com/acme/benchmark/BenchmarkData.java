@@ -0,0 +1,43 @@
+package com.acme.benchmark;
+
+import com.acme.dto.response.LecturerResponse;
+import com.acme.dto.response.StudentResponse;
+import com.acme.entity.Lecturer;
+import com.acme.entity.Student;
+
+/**
+ * Detached entity graphs and DTOs of a given size, shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Lecturer lecturerWithStudents(int students) {
+        Lecturer lecturer = new Lecturer("Bench", "Lecturer", "PROFBENCH");
+        for (int i = 0; i < students; i++) {
+            lecturer.addStudent(new Student("Student" + i, "Surname" + i, studentId(i)));
+        }
+        return lecturer;
+    }
+
+    static Student studentWithLecturers(int lecturers) {
+        Student student = new Student("Bench", "Student", "STUBENCH");
+        for (int i = 0; i < lecturers; i++) {
+            new Lecturer("Lecturer" + i, "Surname" + i, "PROF" + i).addStudent(student);
+        }
+        return student;
+    }
+
+    static LecturerResponse lecturerResponse(int students) {
+        return LecturerResponse.from(lecturerWithStudents(students));
+    }
+
+    static StudentResponse studentResponse(int lecturers) {
+        return StudentResponse.from(studentWithLecturers(lecturers));
+    }
+
+    static String studentId(int i) {
+        return String.format("STU%07d", i);
+    }
+}
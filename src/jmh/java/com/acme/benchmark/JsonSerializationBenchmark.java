@@ -0,0 +1,50 @@
+package com.acme.benchmark;
+
+import com.acme.dto.response.LecturerResponse;
+import com.acme.dto.response.StudentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response records, using the same ObjectMapper defaults Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private LecturerResponse lecturerResponse;
+    private StudentResponse studentResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        lecturerResponse = BenchmarkData.lecturerResponse(rosterSize);
+        studentResponse = BenchmarkData.studentResponse(rosterSize);
+    }
+
+    @Benchmark
+    public byte[] serializeLecturerResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lecturerResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeStudentResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studentResponse);
+    }
+}
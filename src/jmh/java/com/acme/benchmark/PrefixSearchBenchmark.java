@@ -0,0 +1,61 @@
+package com.acme.benchmark;
+
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.search.PrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prefix search latency over the student index at up to a million students. Names repeat the
+ * way real ones do (a few hundred first names and surnames), ids are unique.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrefixSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Param({"10000", "1000000"})
+    private int students;
+
+    private PrefixIndex<StudentSummaryDto> index;
+
+    @Setup
+    public void setUp() {
+        index = new PrefixIndex<>(StudentSummaryDto::studentId,
+                student -> List.of(student.studentId(), student.name(), student.surname()));
+        for (int i = 0; i < students; i++) {
+            index.add(new StudentSummaryDto(BenchmarkData.studentId(i), "Name" + (i % 300), "Surname" + (i / 300 % 500)));
+        }
+    }
+
+    @Benchmark
+    public List<StudentSummaryDto> commonPrefix() {
+        return index.search("name1", LIMIT);
+    }
+
+    @Benchmark
+    public List<StudentSummaryDto> idPrefix() {
+        return index.search("stu00123", LIMIT);
+    }
+
+    @Benchmark
+    public List<StudentSummaryDto> nameAndSurname() {
+        return index.search("name42 surname4", LIMIT);
+    }
+
+    @Benchmark
+    public List<StudentSummaryDto> noMatch() {
+        return index.search("zzz", LIMIT);
+    }
+}
@@ -0,0 +1,85 @@
+package com.acme.benchmark;
+
+import com.acme.AcmeApiApplication;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.service.UniversityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end HTTP GET /lecturers/{id} under concurrent load, platform-thread Tomcat vs the
+ * "virtual" profile. Throughput and SampleTime (p50/p99/p999) are both reported.
+ * The explicit limit bypasses the response cache so every request reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class RequestThreadingBenchmark {
+
+    private static final String LECTURER_ID = "PROFLOAD";
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AcmeApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "acme.rate-limit.enabled=false");
+        if ("virtual".equals(threading)) {
+            builder.profiles("virtual");
+        }
+        context = builder.run();
+
+        UniversityService universityService = context.getBean(UniversityService.class);
+        universityService.createLecturer(new CreateLecturerRequest("Load", "Lecturer", LECTURER_ID));
+        List<CreateStudentRequest> students = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            students.add(new CreateStudentRequest("Student" + i, "Surname" + i, BenchmarkData.studentId(i)));
+        }
+        universityService.addStudentsToLecturer(LECTURER_ID, students);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/lecturers/" + LECTURER_ID + "?limit=100")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getLecturer() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
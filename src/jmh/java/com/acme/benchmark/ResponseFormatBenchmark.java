@@ -0,0 +1,122 @@
+package com.acme.benchmark;
+
+import com.acme.dto.response.LecturerResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode cost of a LecturerResponse in each format the API can send, with and without
+ * gzip. The bytes on the wire for each format and roster size are reported next to the timings
+ * (EncodedSize).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    public enum Format {
+        JSON(false, false),
+        JSON_GZIP(false, true),
+        CBOR(true, false),
+        CBOR_GZIP(true, true);
+
+        private final boolean cbor;
+        private final boolean gzip;
+
+        Format(boolean cbor, boolean gzip) {
+            this.cbor = cbor;
+            this.gzip = gzip;
+        }
+    }
+
+    /**
+     * The encoded size, as the secondary result "bytes". JMH adds EVENTS counters up over every
+     * measured iteration, fork and thread, so each one reports its share and the sum is the size.
+     * The counter is set in the benchmark methods because JMH zeroes it after iteration setup;
+     * that is one field write next to microseconds of encoding.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class EncodedSize {
+
+        public double bytes;
+
+        private double share;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams params) {
+            share = 1.0 / (params.getMeasurement().getCount() * Math.max(1, params.getForks()) * params.getThreads());
+        }
+
+        void record(int length) {
+            bytes = length * share;
+        }
+    }
+
+    @Param({"10", "1000", "100000"})
+    private int rosterSize;
+
+    @Param
+    private Format format;
+
+    private ObjectMapper mapper;
+    private LecturerResponse lecturerResponse;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = format.cbor
+                ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        lecturerResponse = BenchmarkData.lecturerResponse(rosterSize);
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) throws IOException {
+        byte[] bytes = encode();
+        size.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public LecturerResponse decode(EncodedSize size) throws IOException {
+        size.record(encoded.length);
+        try (InputStream in = format.gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(encoded))
+                : new ByteArrayInputStream(encoded)) {
+            return mapper.readValue(in, LecturerResponse.class);
+        }
+    }
+
+    private byte[] encode() throws IOException {
+        if (!format.gzip) {
+            return mapper.writeValueAsBytes(lecturerResponse);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            mapper.writeValue(gzip, lecturerResponse);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package com.acme.benchmark;
+
+import com.acme.dto.response.LecturerResponse;
+import com.acme.dto.response.StudentResponse;
+import com.acme.entity.Lecturer;
+import com.acme.entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping cost of LecturerResponse.from / StudentResponse.from by collection size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseMappingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int rosterSize;
+
+    private Lecturer lecturer;
+    private Student student;
+
+    @Setup
+    public void setUp() {
+        lecturer = BenchmarkData.lecturerWithStudents(rosterSize);
+        student = BenchmarkData.studentWithLecturers(rosterSize);
+    }
+
+    @Benchmark
+    public LecturerResponse lecturerResponseFrom() {
+        return LecturerResponse.from(lecturer);
+    }
+
+    @Benchmark
+    public StudentResponse studentResponseFrom() {
+        return StudentResponse.from(student);
+    }
+}
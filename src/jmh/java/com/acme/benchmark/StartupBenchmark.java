@@ -0,0 +1,159 @@
+package com.acme.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the JVM to the first successful API response, for the start-up variants of
+ * the build/cds layout (./gradlew cdsJar, which the jmh task runs first). JAR is the plain
+ * "java -jar" start the image used before; the others add Spring AOT, a class-data-sharing archive
+ * from a training run, and lazy springdoc beans. Each measurement is a fresh JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String FIRST_REQUEST = "/lecturers/search?q=a";
+
+    public enum Variant {
+        JAR(false, false, false),
+        LAZY(false, false, true),
+        AOT(true, false, false),
+        AOT_CDS(true, true, false),
+        AOT_CDS_LAZY(true, true, true);
+
+        private final boolean aot;
+        private final boolean cds;
+        private final boolean lazy;
+
+        Variant(boolean aot, boolean cds, boolean lazy) {
+            this.aot = aot;
+            this.cds = cds;
+            this.lazy = lazy;
+        }
+    }
+
+    @Param
+    private Variant variant;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Path layout;
+    private Path archive;
+    private Process application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        layout = Path.of(System.getProperty("acme.benchmark.cds-dir", "build/cds"));
+        if (!Files.exists(layout.resolve("app.jar"))) {
+            throw new IllegalStateException("No app.jar in " + layout.toAbsolutePath() + "; run ./gradlew cdsJar");
+        }
+        if (variant.cds) {
+            archive = Files.createTempFile("acme-startup", ".jsa");
+            Files.delete(archive);
+            // The training run: refresh the context once and record the classes it loaded.
+            Process training = launch(List.of("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=error",
+                    "-Dspring.context.exit=onRefresh"), 0);
+            if (training.waitFor() != 0 || !Files.exists(archive)) {
+                throw new IllegalStateException("CDS training run failed");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteArchive() throws IOException {
+        if (archive != null) {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApplication() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+            application = null;
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        List<String> options = new ArrayList<>();
+        if (variant.cds) {
+            options.add("-XX:SharedArchiveFile=" + archive);
+        }
+        application = launch(options, port);
+
+        URI uri = URI.create("http://localhost:" + port + FIRST_REQUEST);
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("Application exited with " + application.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException notListeningYet) {
+                // Keep polling until the connector is up.
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No response within " + STARTUP_TIMEOUT);
+    }
+
+    private Process launch(List<String> jvmOptions, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        if (variant.aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add("app.jar");
+        command.add("--server.port=" + port);
+        if (variant.lazy) {
+            command.add("--acme.startup.lazy-packages=org.springdoc");
+        }
+        return new ProcessBuilder(command)
+                .directory(layout.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
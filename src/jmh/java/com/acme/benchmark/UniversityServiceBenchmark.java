@@ -0,0 +1,89 @@
+package com.acme.benchmark;
+
+import com.acme.AcmeApiApplication;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.response.LecturerResponse;
+import com.acme.dto.response.StudentResponse;
+import com.acme.service.UniversityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UniversityService against the in-memory H2 database of the default profile.
+ * getLecturerById passes an explicit limit, which bypasses the response cache,
+ * so every call measures the database path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UniversityServiceBenchmark {
+
+    private static final String LECTURER_ID = "PROFBENCH";
+
+    @Param({"10", "1000"})
+    private int rosterSize;
+
+    private ConfigurableApplicationContext context;
+    private UniversityService universityService;
+    private String emptyLecturerId;
+    private int nextStudent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AcmeApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        universityService = context.getBean(UniversityService.class);
+
+        universityService.createLecturer(new CreateLecturerRequest("Bench", "Lecturer", LECTURER_ID));
+        List<CreateStudentRequest> students = new ArrayList<>(rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            students.add(new CreateStudentRequest("Student" + i, "Surname" + i, BenchmarkData.studentId(i)));
+        }
+        universityService.addStudentsToLecturer(LECTURER_ID, students);
+    }
+
+    /**
+     * Each measurement iteration enrolls into a fresh lecturer so the write cost is not
+     * skewed by a roster that keeps growing across iterations.
+     */
+    @Setup(Level.Iteration)
+    public void newEnrollmentTarget() {
+        emptyLecturerId = "PROFWRITE" + System.nanoTime();
+        universityService.createLecturer(new CreateLecturerRequest("Write", "Target", emptyLecturerId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LecturerResponse getLecturerById() {
+        return universityService.getLecturerById(LECTURER_ID, null, rosterSize).body();
+    }
+
+    @Benchmark
+    public StudentResponse addStudentToLecturer() {
+        String studentId = "STUNEW" + nextStudent++;
+        return universityService.addStudentToLecturer(emptyLecturerId,
+                new CreateStudentRequest("New", "Student", studentId));
+    }
+}
@@ -0,0 +1,60 @@
+package com.acme.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refuses to start an AOT-processed application that is asked for something AOT already decided
+ * against. AOT evaluates @Profile and @ConditionalOnProperty once, at build time, with no profile
+ * active and the defaults from application.yml; at runtime those beans are registered or not
+ * regardless of the environment, so the setting would otherwise be ignored without a word.
+ * <p>
+ * The rate-limit and idempotency toggles are not listed: their filters are always registered
+ * and switched on or off at runtime.
+ */
+public class AotConditionsCheck implements InitializingBean {
+
+    private final Environment environment;
+    private final boolean aot;
+
+    public AotConditionsCheck(Environment environment) {
+        this(environment, AotDetector.useGeneratedArtifacts());
+    }
+
+    AotConditionsCheck(Environment environment, boolean aot) {
+        this.environment = environment;
+        this.aot = aot;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> ignored = ignoredSettings();
+        if (!ignored.isEmpty()) {
+            throw new IllegalStateException("Started with -Dspring.aot.enabled=true, which fixed these settings "
+                    + "at build time and would ignore them: " + String.join(", ", ignored)
+                    + ". Start without -Dspring.aot.enabled=true.");
+        }
+    }
+
+    List<String> ignoredSettings() {
+        List<String> ignored = new ArrayList<>();
+        if (!aot) {
+            return ignored;
+        }
+        if (environment.acceptsProfiles(Profiles.of("virtual"))) {
+            ignored.add("profile 'virtual'");
+        }
+        for (String property : List.of("spring.threads.virtual.enabled",
+                "acme.datasource.routing.enabled", "acme.enrollment-queue.enabled")) {
+            if (environment.getProperty(property, Boolean.class, false)) {
+                ignored.add(property + "=true");
+            }
+        }
+        return ignored;
+    }
+}
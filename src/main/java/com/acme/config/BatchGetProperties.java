@@ -0,0 +1,12 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bounds the multi-get endpoints (GET /students?ids=, POST /students:batchGet and the lecturer
+ * equivalents): a call asking for more than maxIds distinct ids is rejected.
+ */
+@ConfigurationProperties(prefix = "acme.batch-get")
+public record BatchGetProperties(
+        int maxIds
+) {}
@@ -0,0 +1,81 @@
+package com.acme.config;
+
+import com.acme.dto.response.EncodedResponse;
+import com.acme.dto.response.Versioned;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Caches for encoded LecturerResponse/StudentResponse bodies, keyed by natural id and bounded
+ * by the bytes they hold. Hit/miss statistics are recorded and exported by actuator as cache.gets.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LECTURERS_CACHE = "lecturers";
+    public static final String STUDENTS_CACHE = "students";
+
+    // Key, Versioned and array headers; keeps tiny bodies from looking free.
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    /**
+     * The cache behind the transaction-aware decorator, where puts and evicts take effect at once.
+     */
+    public static InvalidationTrackingCache trackingCache(CacheManager cacheManager, String name) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(name));
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return (InvalidationTrackingCache) cache;
+    }
+
+    @Bean
+    public CacheManager cacheManager(ResponseCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                // Lets EncodedResponseCache drop a load that an evict overtook (see InvalidationTrackingCache).
+                return new InvalidationTrackingCache(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(properties.maximumBytes().toBytes())
+                .weigher((Object key, Object value) -> weigh(value))
+                .expireAfterWrite(properties.ttl())
+                .recordStats());
+        cacheManager.setCacheNames(List.of(LECTURERS_CACHE, STUDENTS_CACHE));
+        cacheManager.setAllowNullValues(false);
+        // Evictions run after commit, otherwise a concurrent reader could re-cache pre-commit data.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Actuator only binds metrics for cache types it knows, so the wrapper hands over its Caffeine cache.
+     */
+    @Bean
+    public CacheMeterBinderProvider<InvalidationTrackingCache> invalidationTrackingCacheMeterBinderProvider() {
+        CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> caffeine.getMeterBinder((CaffeineCache) cache.getDelegate(), tags);
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof Versioned<?> versioned && versioned.body() instanceof EncodedResponse encoded) {
+            return ENTRY_OVERHEAD_BYTES + encoded.size();
+        }
+        return ENTRY_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,91 @@
+package com.acme.config;
+
+import com.acme.datasource.ReadYourWritesFilter;
+import com.acme.datasource.ReplicaRoutingDataSource;
+import com.acme.ratelimit.ClientIdentity;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with primary/replica routing. The primary pool is
+ * still configured through spring.datasource and spring.datasource.hikari.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "acme.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    // After rate limiting, so a rejected write does not pin the client to the primary.
+    static final int READ_YOUR_WRITES_FILTER_ORDER = RateLimitConfig.RATE_LIMIT_FILTER_ORDER + 10;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceRoutingProperties properties,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            replicas.add(replicaPool("replica-" + i, properties.replicas().get(i),
+                    dataSourceProperties, meterRegistry));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.healthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(DataSourceRoutingProperties properties,
+                                                                            RateLimitProperties rateLimitProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(ClientIdentity.of(rateLimitProperties), properties.readYourWritesWindow(),
+                        rateLimitProperties.maxClients()));
+        registration.setOrder(READ_YOUR_WRITES_FILTER_ORDER);
+        registration.setEnabled(!properties.readYourWritesWindow().isZero());
+        return registration;
+    }
+
+    private static HikariDataSource replicaPool(String name, DataSourceRoutingProperties.Replica replica,
+                                                DataSourceProperties primary, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+        dataSource.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+        dataSource.setReadOnly(true);
+        // A replica that is down at startup must not stop the application; it just stays out of rotation.
+        dataSource.setInitializationFailTimeout(-1);
+        if (replica.maximumPoolSize() > 0) {
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+        }
+        if (replica.connectionTimeout() != null) {
+            dataSource.setConnectionTimeout(replica.connectionTimeout().toMillis());
+        }
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,35 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas behind spring.datasource. Read-only transactions go to a healthy replica,
+ * everything else to the primary. A client that wrote within readYourWritesWindow reads
+ * from the primary too, so it never sees a replica that has not caught up with its write.
+ */
+@ConfigurationProperties(prefix = "acme.datasource.routing")
+public record DataSourceRoutingProperties(
+        boolean enabled,
+        Duration readYourWritesWindow,
+        Duration healthCheckInterval,
+        List<Replica> replicas
+) {
+
+    public DataSourceRoutingProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+    }
+
+    /**
+     * @param connectionTimeout how long to wait for a replica connection before falling back to the primary
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            int maximumPoolSize,
+            Duration connectionTimeout
+    ) {}
+}
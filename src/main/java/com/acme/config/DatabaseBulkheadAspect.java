@@ -0,0 +1,56 @@
+package com.acme.config;
+
+import com.acme.exception.DatabaseBusyException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.acme.exception.ErrorConstants.DATABASE_BUSY_MESSAGE;
+
+/**
+ * With virtual threads the servlet container no longer caps concurrency, so this does:
+ * a transactional service call needs a permit before it may open a transaction.
+ * Runs outside the transaction advice so a waiting caller never holds a connection.
+ */
+@Aspect
+@Component
+@Profile("virtual")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseBulkheadAspect {
+
+    // Nested service-to-service calls reuse the caller's permit.
+    private static final ThreadLocal<Boolean> HOLDS_PERMIT = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public DatabaseBulkheadAspect(DatabaseBulkheadProperties properties) {
+        this.permits = new Semaphore(properties.maxConcurrentCalls(), true);
+        this.maxWaitNanos = properties.maxWait().toNanos();
+    }
+
+    @Around("within(com.acme..*) && (@within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (HOLDS_PERMIT.get()) {
+            return joinPoint.proceed();
+        }
+        if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            throw new DatabaseBusyException(DATABASE_BUSY_MESSAGE);
+        }
+        HOLDS_PERMIT.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            HOLDS_PERMIT.remove();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Concurrency cap for transactional service calls, used with the "virtual" profile.
+ * maxConcurrentCalls should match the connection pool size.
+ */
+@ConfigurationProperties(prefix = "acme.db-bulkhead")
+public record DatabaseBulkheadProperties(
+        int maxConcurrentCalls,
+        Duration maxWait
+) {}
@@ -0,0 +1,21 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write-behind enrollment queue. At most capacity enrollments wait at a time; every
+ * flushInterval they are committed, one transaction per lecturer and maxBatchSize enrollments.
+ * Outcomes stay queryable for ticketTtl (at most maxTickets of them).
+ */
+@ConfigurationProperties(prefix = "acme.enrollment-queue")
+public record EnrollmentQueueProperties(
+        boolean enabled,
+        int capacity,
+        int maxBatchSize,
+        Duration flushInterval,
+        Duration ticketTtl,
+        long maxTickets,
+        Duration retryAfter
+) {}
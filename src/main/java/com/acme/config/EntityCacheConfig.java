@@ -0,0 +1,61 @@
+package com.acme.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache regions, created up front in a Caffeine-backed JCache manager
+ * so every region gets the configured bounds. Hibernate is told to fail on any other region
+ * name rather than silently create an unbounded one.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String LECTURER_REGION = "entity.lecturer";
+    public static final String LECTURER_STUDENTS_REGION = "entity.lecturer.students";
+    public static final String LECTURER_NATURAL_ID_REGION = "entity.lecturer.natural-id";
+    public static final String STUDENT_REGION = "entity.student";
+    public static final String STUDENT_LECTURERS_REGION = "entity.student.lecturers";
+    public static final String STUDENT_NATURAL_ID_REGION = "entity.student.natural-id";
+
+    private static final List<String> REGIONS = List.of(
+            LECTURER_REGION, LECTURER_STUDENTS_REGION, LECTURER_NATURAL_ID_REGION,
+            STUDENT_REGION, STUDENT_LECTURERS_REGION, STUDENT_NATURAL_ID_REGION);
+
+    /**
+     * One manager per application context; the provider would otherwise hand every context
+     * (e.g. in tests) the same manager and its already-created regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("acme-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(properties.maximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(properties.ttl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
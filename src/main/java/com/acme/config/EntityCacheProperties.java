@@ -0,0 +1,15 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds for the Hibernate second-level cache regions. Each region (entities, rosters,
+ * natural-id lookups) holds at most maximumSize entries and drops an entry ttl after it was written.
+ */
+@ConfigurationProperties(prefix = "acme.entity-cache")
+public record EntityCacheProperties(
+        long maximumSize,
+        Duration ttl
+) {}
@@ -0,0 +1,12 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rows fetched per round trip by the NDJSON export cursor. Only this many rows are held
+ * by the driver at a time, whatever the size of the export.
+ */
+@ConfigurationProperties(prefix = "acme.export")
+public record ExportProperties(
+        int fetchSize
+) {}
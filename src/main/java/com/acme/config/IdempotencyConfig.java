@@ -0,0 +1,29 @@
+package com.acme.config;
+
+import com.acme.idempotency.IdempotencyFilter;
+import com.acme.ratelimit.ClientIdentity;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registered unconditionally and switched by acme.idempotency.enabled, as in {@link RateLimitConfig}.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    // Behind rate limiting, so retries spend budget; ahead of read-your-writes, so a replay does not pin reads.
+    static final int IDEMPOTENCY_FILTER_ORDER = RateLimitConfig.RATE_LIMIT_FILTER_ORDER + 5;
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyProperties properties,
+                                                                      RateLimitProperties rateLimitProperties,
+                                                                      MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(properties, ClientIdentity.of(rateLimitProperties), meterRegistry));
+        registration.setEnabled(properties.enabled());
+        registration.setOrder(IDEMPOTENCY_FILTER_ORDER);
+        return registration;
+    }
+}
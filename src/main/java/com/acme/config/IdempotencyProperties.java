@@ -0,0 +1,23 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency-Key support for POST endpoints matching patterns. Completed responses are kept
+ * for ttl (at most maxKeys of them); a duplicate of a request still running waits up to
+ * inFlightTimeout for its outcome. The body is buffered to fingerprint it, so a keyed request
+ * with a body over maxBodySize is rejected before it is read.
+ */
+@ConfigurationProperties(prefix = "acme.idempotency")
+public record IdempotencyProperties(
+        boolean enabled,
+        List<String> patterns,
+        long maxKeys,
+        Duration ttl,
+        Duration inFlightTimeout,
+        DataSize maxBodySize
+) {}
@@ -0,0 +1,11 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rows loaded per transaction by the enrollment import. Progress is reported once per chunk.
+ */
+@ConfigurationProperties(prefix = "acme.import")
+public record ImportProperties(
+        int chunkSize
+) {}
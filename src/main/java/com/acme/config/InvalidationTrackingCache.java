@@ -0,0 +1,126 @@
+package com.acme.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts evictions per key so a read-through load can tell whether the entry it is about to
+ * store was invalidated while it was being read. Without that, a load that read version N, then
+ * lost the race to a write's after-commit evict, would put N back and serve it until the TTL.
+ * <p>
+ * Counters are striped by key hash rather than kept per key, so memory stays fixed; a collision
+ * only makes an unrelated load skip its put.
+ */
+public class InvalidationTrackingCache implements Cache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache delegate;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    public InvalidationTrackingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Read before loading the value for this key, and hand to {@link #putIfNotInvalidated}.
+     */
+    public long invalidations(Object key) {
+        return invalidations.get(stripe(key));
+    }
+
+    /**
+     * Stores the value unless the key was evicted since {@code seen} was read. The counter is
+     * checked again after the put: an evict that increments before that check has its stale put
+     * removed here, and one that increments after it removes the entry itself.
+     *
+     * @return false if the value was not (or no longer) cached
+     */
+    public boolean putIfNotInvalidated(Object key, Object value, long seen) {
+        int stripe = stripe(key);
+        if (invalidations.get(stripe) != seen) {
+            return false;
+        }
+        delegate.put(key, value);
+        if (invalidations.get(stripe) != seen) {
+            delegate.evict(key);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidations.incrementAndGet(stripe(key));
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidations.incrementAndGet(stripe(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateAllStripes();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidateAllStripes();
+        return delegate.invalidate();
+    }
+
+    private void invalidateAllStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+}
@@ -0,0 +1,15 @@
+package com.acme.config;
+
+import com.acme.repository.LecturerRepository;
+import com.acme.repository.NaturalIdRepositoryImpl;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Gives every Spring Data repository natural-id lookups (NaturalIdRepository).
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = LecturerRepository.class,
+                       repositoryBaseClass = NaturalIdRepositoryImpl.class)
+public class JpaConfig {
+}
@@ -0,0 +1,60 @@
+package com.acme.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Makes the beans of the packages in acme.startup.lazy-packages lazy, so they are created on
+ * first use instead of during startup. A bean matches by its own class or, for a @Bean method,
+ * by the class that declares it. Meant for beans no request needs right away, such as springdoc's
+ * OpenAPI and Swagger UI endpoints; the application's own beans should stay eager.
+ * <p>
+ * Runs before any bean exists, so the list is bound from the Environment directly rather than
+ * through a @ConfigurationProperties bean.
+ */
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor {
+
+    static final String LAZY_PACKAGES_PROPERTY = "acme.startup.lazy-packages";
+
+    private final List<String> packagePrefixes;
+
+    public LazyBeansPostProcessor(Environment environment) {
+        this.packagePrefixes = Binder.get(environment)
+                .bind(LAZY_PACKAGES_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of())
+                .stream()
+                .map(prefix -> prefix.endsWith(".") ? prefix : prefix + ".")
+                .toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (packagePrefixes.isEmpty()) {
+            return;
+        }
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (matches(definition.getBeanClassName()) || matches(declaringClassName(beanFactory, definition))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private static String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName == null || !beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return null;
+        }
+        return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+    }
+
+    private boolean matches(String className) {
+        return className != null && packagePrefixes.stream().anyMatch(className::startsWith);
+    }
+}
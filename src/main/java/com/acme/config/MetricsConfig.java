@@ -0,0 +1,36 @@
+package com.acme.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters on top of what Spring Boot binds by itself (http.server.requests, hikaricp.*, and
+ * hibernate.* session-factory statistics once hibernate-micrometer is on the classpath).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Backs @Timed on service classes; every method gets a timer tagged with class and method.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Per-HQL-query execution counts and times (hibernate.query), so the statements behind one
+     * repository method can be told apart. Relies on hibernate.generate_statistics.
+     */
+    @Bean
+    public HibernateQueryMetrics hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", Tags.empty());
+    }
+}
@@ -0,0 +1,30 @@
+package com.acme.config;
+
+import com.acme.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The filter is always registered and switched on or off with acme.rate-limit.enabled when the
+ * application starts, rather than by a bean condition, so the toggle also works in the
+ * AOT-processed image, where conditions are evaluated at build time.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    // Just inside the observation filter, so rejected requests still show up in request metrics.
+    static final int RATE_LIMIT_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                  MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(properties, meterRegistry));
+        registration.setEnabled(properties.enabled());
+        registration.setOrder(RATE_LIMIT_FILTER_ORDER);
+        return registration;
+    }
+}
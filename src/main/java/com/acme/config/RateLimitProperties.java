@@ -0,0 +1,37 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-client rate limit budgets. Each route gets its own bucket per client:
+ * up to capacity requests at once, refilled one at a time at capacity per refillPeriod.
+ *
+ * @param apiKeys the API keys clients are budgeted by; any other key is ignored and the
+ *                client is budgeted by IP address
+ */
+@ConfigurationProperties(prefix = "acme.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        String apiKeyHeader,
+        Set<String> apiKeys,
+        long maxClients,
+        Duration idleClientTtl,
+        List<Route> routes
+) {
+
+    /**
+     * @param methods  HTTP methods this route applies to; empty means all
+     * @param patterns Spring path patterns, e.g. /lecturers/**
+     */
+    public record Route(
+            String name,
+            List<String> methods,
+            List<String> patterns,
+            long capacity,
+            Duration refillPeriod
+    ) {}
+}
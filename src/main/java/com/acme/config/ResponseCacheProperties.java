@@ -0,0 +1,18 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Bounds for the lecturer/student response caches. Each cache holds at most maximumBytes of
+ * encoded responses and drops an entry ttl after it was written. Bodies of at least
+ * gzipMinSize are also kept gzip-compressed.
+ */
+@ConfigurationProperties(prefix = "acme.cache")
+public record ResponseCacheProperties(
+        DataSize maximumBytes,
+        Duration ttl,
+        DataSize gzipMinSize
+) {}
@@ -0,0 +1,13 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Page sizes for the lecturer roster returned by GET /lecturers/{lecturerId}.
+ * Requests asking for more than maxPageSize students are capped.
+ */
+@ConfigurationProperties(prefix = "acme.roster")
+public record RosterProperties(
+        int defaultPageSize,
+        int maxPageSize
+) {}
@@ -0,0 +1,13 @@
+package com.acme.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Result counts for GET /lecturers/search and GET /students/search. Requests asking for
+ * more than maxLimit results are capped.
+ */
+@ConfigurationProperties(prefix = "acme.search")
+public record SearchProperties(
+        int defaultLimit,
+        int maxLimit
+) {}
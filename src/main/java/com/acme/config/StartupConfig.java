@@ -0,0 +1,23 @@
+package com.acme.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup tuning that has to act on bean definitions, before any bean is created.
+ */
+@Configuration
+public class StartupConfig {
+
+    // Static, so registering the post-processor does not instantiate this configuration early.
+    @Bean
+    public static LazyBeansPostProcessor lazyBeansPostProcessor(Environment environment) {
+        return new LazyBeansPostProcessor(environment);
+    }
+
+    @Bean
+    public AotConditionsCheck aotConditionsCheck(Environment environment) {
+        return new AotConditionsCheck(environment);
+    }
+}
@@ -0,0 +1,66 @@
+package com.acme.controller;
+
+import com.acme.dto.request.BatchGetRequest;
+import com.acme.dto.response.BatchGetResponse;
+import com.acme.dto.response.LecturerResponse;
+import com.acme.dto.response.StudentResponse;
+import com.acme.service.UniversityService;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.acme.validation.ValidationConstants.BATCH_GET_IDS_MESSAGE;
+
+/**
+ * Multi-get by natural id: one request, and one query, for many students or lecturers. Ids go in
+ * the query string (?ids=a,b,c) or, when there are too many for a URL, in a POST body.
+ * Unknown ids are listed in notFound rather than failing the call.
+ */
+@RestController
+@Validated
+@ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Entities found, in request order, and the ids that were not"),
+    @ApiResponse(responseCode = "400", description = "No ids, a blank id, or more distinct ids than acme.batch-get.max-ids"),
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+})
+public class BatchGetController {
+
+    private final UniversityService universityService;
+
+    public BatchGetController(UniversityService universityService) {
+        this.universityService = universityService;
+    }
+
+    @GetMapping(value = "/students", params = "ids")
+    public ResponseEntity<BatchGetResponse<StudentResponse>> getStudents(
+            @RequestParam @NotEmpty(message = BATCH_GET_IDS_MESSAGE)
+            List<@NotBlank(message = BATCH_GET_IDS_MESSAGE) String> ids) {
+        return ResponseEntity.ok(universityService.getStudentsByIds(ids));
+    }
+
+    @PostMapping("/students:batchGet")
+    public ResponseEntity<BatchGetResponse<StudentResponse>> batchGetStudents(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(universityService.getStudentsByIds(request.ids()));
+    }
+
+    @GetMapping(value = "/lecturers", params = "ids")
+    public ResponseEntity<BatchGetResponse<LecturerResponse>> getLecturers(
+            @RequestParam @NotEmpty(message = BATCH_GET_IDS_MESSAGE)
+            List<@NotBlank(message = BATCH_GET_IDS_MESSAGE) String> ids) {
+        return ResponseEntity.ok(universityService.getLecturersByIds(ids));
+    }
+
+    @PostMapping("/lecturers:batchGet")
+    public ResponseEntity<BatchGetResponse<LecturerResponse>> batchGetLecturers(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(universityService.getLecturersByIds(request.ids()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.acme.controller;
+
+import com.acme.dto.response.EncodedResponse;
+import com.acme.dto.response.Versioned;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+
+/**
+ * Picks the representation of a versioned GET response. CBOR is sent when the client asks for it
+ * at least as strongly as for JSON; otherwise JSON. A cached, already encoded body is written as
+ * raw bytes, gzipped when the client accepts it and the body was large enough to have a gzip
+ * encoding. Every representation carries its own strong ETag.
+ */
+final class EncodedResponses {
+
+    private static final String GZIP = "gzip";
+    private static final String CBOR = "cbor";
+
+    private EncodedResponses() {}
+
+    static ResponseEntity<byte[]> ok(Versioned<EncodedResponse> versioned, String accept, String acceptEncoding) {
+        boolean cbor = prefersCbor(accept);
+        EncodedResponse.Encoding encoding = cbor ? versioned.body().cbor() : versioned.body().json();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding.hasGzip() && acceptsGzip(acceptEncoding)) {
+            return response
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .eTag(Versioned.eTag(versioned.version(), cbor ? CBOR + "-" + GZIP : GZIP))
+                    .body(encoding.gzip());
+        }
+        return response.eTag(Versioned.eTag(versioned.version(), cbor ? CBOR : null)).body(encoding.bytes());
+    }
+
+    /**
+     * A response built per request; the message converter for the chosen type writes it.
+     */
+    static <T> ResponseEntity<T> ok(Versioned<T> versioned, String accept) {
+        boolean cbor = prefersCbor(accept);
+        return ResponseEntity.ok()
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(Versioned.eTag(versioned.version(), cbor ? CBOR : null))
+                .body(versioned.body());
+    }
+
+    static <T> ResponseEntity<T> notModified(long version, String accept) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(Versioned.eTag(version, prefersCbor(accept) ? CBOR : null))
+                .build();
+    }
+
+    /**
+     * True when application/cbor is acceptable and no JSON type is preferred over it. An exact
+     * application/json of equal quality wins the tie; a wildcard of equal quality does not.
+     */
+    static boolean prefersCbor(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        double wildcard = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                double quality = type.getQualityValue();
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    cbor = Math.max(cbor, quality);
+                } else if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                    json = Math.max(json, quality);
+                } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                    wildcard = Math.max(wildcard, quality);
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return cbor > 0 && cbor > json && cbor >= wildcard;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().toLowerCase(Locale.ROOT).split(";");
+            String coding = parts[0].trim();
+            if (coding.equals(GZIP) || coding.equals("*")) {
+                return !(parts.length > 1 && isZeroQuality(parts[1].trim()));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        return parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0{0,3})?");
+    }
+}
@@ -0,0 +1,72 @@
+package com.acme.controller;
+
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.response.EnrollmentTicket;
+import com.acme.exception.EnrollmentTicketNotFoundException;
+import com.acme.service.EnrollmentQueue;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+import static com.acme.exception.ErrorConstants.formatEnrollmentTicketNotFound;
+
+/**
+ * Asynchronous variant of POST /lecturers/{lecturerId}/add, chosen with "Prefer: respond-async"
+ * (RFC 7240). Without that header, or with the queue disabled, the request is handled synchronously.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "acme.enrollment-queue", name = "enabled", havingValue = "true")
+@ApiResponses(value = {
+    @ApiResponse(responseCode = "400", description = "Invalid input data"),
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+})
+public class EnrollmentQueueController {
+
+    static final String PREFER_ASYNC = "respond-async";
+
+    private final EnrollmentQueue enrollmentQueue;
+
+    public EnrollmentQueueController(EnrollmentQueue enrollmentQueue) {
+        this.enrollmentQueue = enrollmentQueue;
+    }
+
+    @PostMapping(value = "/lecturers/{lecturerId}/add", headers = "Prefer=" + PREFER_ASYNC)
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Enrollment queued; poll the ticket in Location for the outcome"),
+        @ApiResponse(responseCode = "503", description = "Enrollment queue full; retry after Retry-After seconds")
+    })
+    public ResponseEntity<EnrollmentTicket> queueStudentForLecturer(
+            @PathVariable String lecturerId,
+            @Valid @RequestBody CreateStudentRequest request) {
+
+        EnrollmentTicket ticket = enrollmentQueue.submit(lecturerId, request);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/enrollments/{ticketId}")
+                .buildAndExpand(ticket.ticketId())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(location)
+                .header("Preference-Applied", PREFER_ASYNC)
+                .body(ticket);
+    }
+
+    @GetMapping("/enrollments/{ticketId}")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ticket state, and the outcome once committed"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired ticket")
+    })
+    public ResponseEntity<EnrollmentTicket> getTicket(@PathVariable String ticketId) {
+        return enrollmentQueue.ticket(ticketId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new EnrollmentTicketNotFoundException(formatEnrollmentTicketNotFound(ticketId)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.acme.controller;
+
+import com.acme.service.ExportService;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+@ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping(value = "/lecturers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiResponse(responseCode = "200", description = "One lecturer with all students per line, ordered by lecturerId")
+    public ResponseEntity<StreamingResponseBody> exportLecturers(@RequestParam(required = false) String after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> exportService.exportLecturers(after, out));
+    }
+
+    @GetMapping(value = "/students", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiResponse(responseCode = "200", description = "One student with all lecturers per line, ordered by studentId")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(required = false) String after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> exportService.exportStudents(after, out));
+    }
+}
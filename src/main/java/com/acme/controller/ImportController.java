@@ -0,0 +1,41 @@
+package com.acme.controller;
+
+import com.acme.service.ImportService;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/import")
+@ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+public class ImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * The upload is read while the report is written, so neither is held in memory.
+     */
+    @PostMapping(value = "/enrollments",
+                 consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiResponse(responseCode = "200", description = "Row errors and per-chunk progress as NDJSON, ending with a summary")
+    public ResponseEntity<StreamingResponseBody> importEnrollments(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        boolean csv = MediaType.parseMediaType(TEXT_CSV_VALUE).includes(contentType);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> importService.importEnrollments(body, csv, out));
+    }
+}
@@ -1,21 +1,43 @@
 package com.acme.controller;
 
+import com.acme.dto.request.BulkEnrollmentRequest;
 import com.acme.dto.request.CreateLecturerRequest;
 import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.request.ResponseShape;
+import com.acme.dto.response.BulkEnrollmentResponse;
 import com.acme.dto.response.LecturerResponse;
 import com.acme.dto.response.StudentResponse;
+import com.acme.dto.response.Versioned;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.service.EncodedResponseCache;
+import com.acme.service.SearchService;
 import com.acme.service.UniversityService;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
+
+import static com.acme.validation.ValidationConstants.COLLECTION_VIEW_MESSAGE;
+import static com.acme.validation.ValidationConstants.COLLECTION_VIEW_PATTERN;
+import static com.acme.validation.ValidationConstants.LECTURER_FIELDS_MESSAGE;
+import static com.acme.validation.ValidationConstants.LECTURER_FIELDS_PATTERN;
+import static com.acme.validation.ValidationConstants.SEARCH_QUERY_MESSAGE;
 
 @RestController
+@Validated
 @RequestMapping("/lecturers")
 @ApiResponses(value = {
     @ApiResponse(responseCode = "400", description = "Invalid input data"),
@@ -24,13 +46,18 @@ import java.net.URI;
 public class LecturerController {
 
     private final UniversityService universityService;
+    private final EncodedResponseCache encodedResponseCache;
+    private final SearchService searchService;
 
-    public LecturerController(UniversityService universityService) {
+    public LecturerController(UniversityService universityService,
+                              EncodedResponseCache encodedResponseCache,
+                              SearchService searchService) {
         this.universityService = universityService;
+        this.encodedResponseCache = encodedResponseCache;
+        this.searchService = searchService;
     }
 
     @PostMapping
-    @RateLimiter(name = "acme-api")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Lecturer created successfully"),
         @ApiResponse(responseCode = "409", description = "Lecturer already exists")
@@ -47,16 +74,56 @@ public class LecturerController {
         return ResponseEntity.created(location).body(lecturer);
     }
 
+    @GetMapping("/search")
+    @ApiResponse(responseCode = "200", description = "Lecturers whose id, name or surname start with the query words, in lexicographic order of the matched word")
+    public ResponseEntity<List<LecturerSummaryDto>> searchLecturers(
+            @RequestParam @NotBlank(message = SEARCH_QUERY_MESSAGE) String q,
+            @RequestParam(required = false) @Min(value = 1, message = "Limit must be at least 1") Integer limit) {
+        return ResponseEntity.ok(searchService.searchLecturers(q, limit));
+    }
+
     @GetMapping("/{lecturerId}")
-    @RateLimiter(name = "acme-api")
-    @ApiResponse(responseCode = "404", description = "Lecturer not found")
-    public ResponseEntity<LecturerResponse> getLecturer(@PathVariable String lecturerId) {
-        LecturerResponse lecturer = universityService.getLecturerById(lecturerId);
-        return ResponseEntity.ok(lecturer);
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lecturer with one roster page",
+                content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LecturerResponse.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                            schema = @Schema(implementation = LecturerResponse.class))
+                }),
+        @ApiResponse(responseCode = "304", description = "Lecturer unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Lecturer not found")
+    })
+    public ResponseEntity<?> getLecturer(
+            @PathVariable String lecturerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @Min(value = 1, message = "Limit must be at least 1") Integer limit,
+            @RequestParam(required = false)
+            @Pattern(regexp = LECTURER_FIELDS_PATTERN, message = LECTURER_FIELDS_MESSAGE) String fields,
+            @RequestParam(required = false)
+            @Pattern(regexp = COLLECTION_VIEW_PATTERN, message = COLLECTION_VIEW_MESSAGE) String studentsView,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // The ETag identifies the lecturer's version; every page and shape of one version shares it.
+        if (ifNoneMatch != null) {
+            long version = universityService.getLecturerVersion(lecturerId);
+            if (Versioned.matchesAny(ifNoneMatch, version)) {
+                return EncodedResponses.notModified(version, accept);
+            }
+        }
+
+        // The default first page is served from the encoded response cache, as bytes.
+        ResponseShape shape = ResponseShape.of(fields, studentsView);
+        if (after == null && limit == null && shape.isFull()) {
+            return EncodedResponses.ok(encodedResponseCache.getLecturer(lecturerId), accept, acceptEncoding);
+        }
+
+        Versioned<LecturerResponse> lecturer = universityService.getLecturerById(lecturerId, after, limit, shape);
+        return EncodedResponses.ok(lecturer, accept);
     }
 
     @PostMapping("/{lecturerId}/add")
-    @RateLimiter(name = "acme-api")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Student added to lecturer"),
         @ApiResponse(responseCode = "404", description = "Lecturer not found"),
@@ -76,4 +143,17 @@ public class LecturerController {
         
         return ResponseEntity.created(location).body(student);
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/{lecturerId}/add/batch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Per-student enrollment results, in request order"),
+        @ApiResponse(responseCode = "404", description = "Lecturer not found")
+    })
+    public ResponseEntity<BulkEnrollmentResponse> addStudentsToLecturer(
+            @PathVariable String lecturerId,
+            @Valid @RequestBody BulkEnrollmentRequest request) {
+
+        BulkEnrollmentResponse response = universityService.addStudentsToLecturer(lecturerId, request.students());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,28 +1,93 @@
 package com.acme.controller;
 
+import com.acme.dto.request.ResponseShape;
 import com.acme.dto.response.StudentResponse;
+import com.acme.dto.response.Versioned;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.service.EncodedResponseCache;
+import com.acme.service.SearchService;
 import com.acme.service.UniversityService;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+import static com.acme.validation.ValidationConstants.COLLECTION_VIEW_MESSAGE;
+import static com.acme.validation.ValidationConstants.COLLECTION_VIEW_PATTERN;
+import static com.acme.validation.ValidationConstants.SEARCH_QUERY_MESSAGE;
+import static com.acme.validation.ValidationConstants.STUDENT_FIELDS_MESSAGE;
+import static com.acme.validation.ValidationConstants.STUDENT_FIELDS_PATTERN;
+
 @RestController
+@Validated
 @RequestMapping("/students")
 @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
 public class StudentController {
 
     private final UniversityService universityService;
+    private final EncodedResponseCache encodedResponseCache;
+    private final SearchService searchService;
 
-    public StudentController(UniversityService universityService) {
+    public StudentController(UniversityService universityService,
+                             EncodedResponseCache encodedResponseCache,
+                             SearchService searchService) {
         this.universityService = universityService;
+        this.encodedResponseCache = encodedResponseCache;
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/search")
+    @ApiResponse(responseCode = "200", description = "Students whose id, name or surname start with the query words, in lexicographic order of the matched word")
+    public ResponseEntity<List<StudentSummaryDto>> searchStudents(
+            @RequestParam @NotBlank(message = SEARCH_QUERY_MESSAGE) String q,
+            @RequestParam(required = false) @Min(value = 1, message = "Limit must be at least 1") Integer limit) {
+        return ResponseEntity.ok(searchService.searchStudents(q, limit));
     }
 
     @GetMapping("/{studentId}")
-    @RateLimiter(name = "acme-api")
-    @ApiResponse(responseCode = "404", description = "Student not found")
-    public ResponseEntity<StudentResponse> getStudent(@PathVariable String studentId) {
-        StudentResponse student = universityService.getStudentById(studentId);
-        return ResponseEntity.ok(student);
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Student with their lecturers",
+                content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = StudentResponse.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                            schema = @Schema(implementation = StudentResponse.class))
+                }),
+        @ApiResponse(responseCode = "304", description = "Student unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Student not found")
+    })
+    public ResponseEntity<?> getStudent(
+            @PathVariable String studentId,
+            @RequestParam(required = false)
+            @Pattern(regexp = STUDENT_FIELDS_PATTERN, message = STUDENT_FIELDS_MESSAGE) String fields,
+            @RequestParam(required = false)
+            @Pattern(regexp = COLLECTION_VIEW_PATTERN, message = COLLECTION_VIEW_MESSAGE) String lecturersView,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (ifNoneMatch != null) {
+            long version = universityService.getStudentVersion(studentId);
+            if (Versioned.matchesAny(ifNoneMatch, version)) {
+                return EncodedResponses.notModified(version, accept);
+            }
+        }
+
+        ResponseShape shape = ResponseShape.of(fields, lecturersView);
+        if (shape.isFull()) {
+            return EncodedResponses.ok(encodedResponseCache.getStudent(studentId), accept, acceptEncoding);
+        }
+
+        Versioned<StudentResponse> student = universityService.getStudentById(studentId, shape);
+        return EncodedResponses.ok(student, accept);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.acme.datasource;
+
+import com.acme.ratelimit.ClientIdentity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pins a client's reads to the primary for a short window after it sends a write, so it
+ * reads its own writes even while the replicas lag. The write itself is recorded before it
+ * runs: the response may reach the client before this filter regains control.
+ * Clients are identified the same way as for rate limiting.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ClientIdentity clientIdentity;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ClientIdentity clientIdentity, Duration window, long maxClients) {
+        this.clientIdentity = clientIdentity;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = clientIdentity.clientKey(request);
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            recentWriters.put(client, Boolean.TRUE);
+        } else if (recentWriters.getIfPresent(client) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.acme.datasource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round-robin, and everything
+ * else to the primary. The decision is made when a connection is requested, so this must sit
+ * behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only set after
+ * the transaction manager asks for its connection.
+ * <p>
+ * A replica that cannot be reached (SQLState class 08, or a failed validity check) is taken out
+ * of rotation and that request moves on to the next replica, or the primary. A background check
+ * puts it back once it answers again. Any other failure, such as a pool that timed out because
+ * all its connections are busy, only moves the request on: the replica stays in rotation.
+ * <p>
+ * Replica reads are never cached: the response cache loads through {@link #onPrimary}, and the
+ * one read-only entity query skips the second-level cache.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-health-check")
+                .daemon(true)
+                .factory());
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthCheck.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Routes every connection the current thread asks for to the primary until {@link #unpin()}.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Runs work on the primary whatever its transaction says: reads whose results go into a
+     * shared cache must not come from a lagging replica, or they would put back the state a
+     * write has just evicted. Restores the previous pin, so it nests inside a pinned request.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PINNED_TO_PRIMARY.get()) {
+            return work.get();
+        }
+        pinToPrimary();
+        try {
+            return work.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PINNED_TO_PRIMARY.get()) {
+            return source.open(primary);
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return source.open(replica.dataSource);
+            } catch (SQLException e) {
+                if (isUnreachable(e)) {
+                    replica.healthy = false;
+                }
+            }
+        }
+        return source.open(primary);
+    }
+
+    /**
+     * @return how many replicas are currently in rotation
+     */
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                if (isUnreachable(e)) {
+                    replica.healthy = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * A connection failure is SQLState class 08, which JDBC drivers report as an
+     * SQLNonTransientConnectionException. A pool timeout is transient, but the pool attaches its
+     * last failed attempt to open a connection as the cause, so the cause chain is checked too.
+     */
+    private static boolean isUnreachable(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && sqlException.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
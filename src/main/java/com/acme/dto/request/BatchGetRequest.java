@@ -0,0 +1,14 @@
+package com.acme.dto.request;
+
+import com.acme.validation.ValidationConstants;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchGetRequest(
+        @JsonProperty("ids")
+        @NotEmpty(message = ValidationConstants.BATCH_GET_IDS_MESSAGE)
+        List<@NotBlank(message = ValidationConstants.BATCH_GET_IDS_MESSAGE) String> ids
+) {}
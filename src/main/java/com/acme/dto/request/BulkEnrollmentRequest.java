@@ -0,0 +1,14 @@
+package com.acme.dto.request;
+
+import com.acme.validation.ValidationConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkEnrollmentRequest(
+        @NotEmpty(message = ValidationConstants.BULK_ENROLLMENT_SIZE_MESSAGE)
+        @Size(max = ValidationConstants.MAX_BULK_ENROLLMENT_SIZE, message = ValidationConstants.BULK_ENROLLMENT_SIZE_MESSAGE)
+        List<@Valid CreateStudentRequest> students
+) {}
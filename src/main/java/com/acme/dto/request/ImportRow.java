@@ -0,0 +1,38 @@
+package com.acme.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One line of an enrollment import (CSV column or NDJSON field names match the components).
+ * The student fields may all be empty, in which case the line only creates the lecturer.
+ */
+public record ImportRow(
+    @JsonProperty("lecturerId")
+    String lecturerId,
+
+    @JsonProperty("lecturerName")
+    String lecturerName,
+
+    @JsonProperty("lecturerSurname")
+    String lecturerSurname,
+
+    @JsonProperty("studentId")
+    String studentId,
+
+    @JsonProperty("studentName")
+    String studentName,
+
+    @JsonProperty("studentSurname")
+    String studentSurname
+) {
+
+    public static final String CSV_HEADER = "lecturerId,lecturerName,lecturerSurname,studentId,studentName,studentSurname";
+
+    public boolean hasStudent() {
+        return !isEmpty(studentId) || !isEmpty(studentName) || !isEmpty(studentSurname);
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
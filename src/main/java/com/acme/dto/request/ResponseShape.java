@@ -0,0 +1,43 @@
+package com.acme.dto.request;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a GET asked for: the top-level fields to include (null means all of them) and how to
+ * render the related collection (students of a lecturer, lecturers of a student).
+ * Parameters are validated in the controller, so parsing here does not re-check them.
+ */
+public record ResponseShape(Set<String> fields, CollectionView collectionView) {
+
+    public enum CollectionView {
+        /** Summaries of the related entities. */
+        FULL,
+        /** Natural ids only. */
+        IDS,
+        /** Only how many there are. */
+        COUNT
+    }
+
+    public static final ResponseShape FULL = new ResponseShape(null, CollectionView.FULL);
+
+    public static ResponseShape of(String fields, String collectionView) {
+        Set<String> selected = fields == null ? null : Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .collect(Collectors.toUnmodifiableSet());
+        CollectionView view = collectionView == null
+                ? CollectionView.FULL
+                : CollectionView.valueOf(collectionView.toUpperCase(Locale.ROOT));
+        return new ResponseShape(selected, view);
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean isFull() {
+        return fields == null && collectionView == CollectionView.FULL;
+    }
+}
@@ -0,0 +1,17 @@
+package com.acme.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: the entities found, in the order their ids were requested (each id
+ * once), and the requested ids that do not exist.
+ */
+public record BatchGetResponse<T>(
+    @JsonProperty("items")
+    List<T> items,
+
+    @JsonProperty("notFound")
+    List<String> notFound
+) {}
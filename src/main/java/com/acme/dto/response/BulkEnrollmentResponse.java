@@ -0,0 +1,15 @@
+package com.acme.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Results are in the same order as the students in the request.
+ */
+public record BulkEnrollmentResponse(
+    @JsonProperty("lecturerId")
+    String lecturerId,
+
+    @JsonProperty("results")
+    List<EnrollmentResult> results
+) {}
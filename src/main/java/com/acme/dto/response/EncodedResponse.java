@@ -0,0 +1,29 @@
+package com.acme.dto.response;
+
+/**
+ * A response body already serialized to JSON and to CBOR. Cached as is and written out unchanged.
+ */
+public record EncodedResponse(Encoding json, Encoding cbor) {
+
+    /**
+     * One format's bytes, plus their gzip encoding when the body is large enough to be worth
+     * compressing (null otherwise).
+     */
+    public record Encoding(byte[] bytes, byte[] gzip) {
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+
+        int size() {
+            return bytes.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    /**
+     * Bytes held, for weighing cache entries.
+     */
+    public int size() {
+        return json.size() + cbor.size();
+    }
+}
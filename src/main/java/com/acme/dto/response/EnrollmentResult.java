@@ -0,0 +1,42 @@
+package com.acme.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record EnrollmentResult(
+    @JsonProperty("studentId")
+    String studentId,
+
+    @JsonProperty("status")
+    Status status,
+
+    @JsonProperty("message")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String message
+) {
+
+    public enum Status {
+        /** New student created and enrolled. */
+        CREATED,
+        /** Existing student enrolled. */
+        ENROLLED,
+        /** Student was already enrolled with this lecturer (409 on the single endpoint). */
+        ALREADY_ASSIGNED,
+        /** studentId exists with a different name/surname (409 on the single endpoint). */
+        CONFLICT,
+        /** Lecturer does not exist (404 on the single endpoint). Only reported for queued enrollments. */
+        LECTURER_NOT_FOUND,
+        /** The database was too busy to take the enrollment (503 on the single endpoint). Only reported for queued enrollments. */
+        UNAVAILABLE,
+        /** The enrollment could not be committed (500 on the single endpoint). Only reported for queued enrollments. */
+        FAILED
+    }
+
+    public static EnrollmentResult of(String studentId, Status status) {
+        return new EnrollmentResult(studentId, status, null);
+    }
+
+    public static EnrollmentResult failed(String studentId, Status status, String message) {
+        return new EnrollmentResult(studentId, status, message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.acme.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A queued enrollment. result and httpStatus are absent while it is PENDING; once COMPLETED,
+ * httpStatus is what POST /lecturers/{id}/add would have answered for the same request.
+ */
+public record EnrollmentTicket(
+    @JsonProperty("ticketId")
+    String ticketId,
+
+    @JsonProperty("lecturerId")
+    String lecturerId,
+
+    @JsonProperty("studentId")
+    String studentId,
+
+    @JsonProperty("state")
+    State state,
+
+    @JsonProperty("result")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    EnrollmentResult result,
+
+    @JsonProperty("httpStatus")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Integer httpStatus
+) {
+
+    public enum State {
+        PENDING,
+        COMPLETED
+    }
+
+    public static EnrollmentTicket pending(String ticketId, String lecturerId, String studentId) {
+        return new EnrollmentTicket(ticketId, lecturerId, studentId, State.PENDING, null, null);
+    }
+
+    public EnrollmentTicket complete(EnrollmentResult result) {
+        return new EnrollmentTicket(ticketId, lecturerId, studentId, State.COMPLETED, result,
+                httpStatusOf(result.status()));
+    }
+
+    private static int httpStatusOf(EnrollmentResult.Status status) {
+        return switch (status) {
+            case CREATED, ENROLLED -> 201;
+            case ALREADY_ASSIGNED, CONFLICT -> 409;
+            case LECTURER_NOT_FOUND -> 404;
+            case UNAVAILABLE -> 503;
+            case FAILED -> 500;
+        };
+    }
+}
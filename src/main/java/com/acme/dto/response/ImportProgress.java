@@ -0,0 +1,36 @@
+package com.acme.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Written after every chunk, and once more with done = true when the input is exhausted.
+ * enrolled counts new lecturer_student rows; skipped counts rows that were already loaded.
+ */
+public record ImportProgress(
+    @JsonProperty("rows")
+    long rows,
+
+    @JsonProperty("enrolled")
+    long enrolled,
+
+    @JsonProperty("skipped")
+    long skipped,
+
+    @JsonProperty("failed")
+    long failed,
+
+    @JsonProperty("elapsedMillis")
+    long elapsedMillis,
+
+    @JsonProperty("rowsPerSecond")
+    long rowsPerSecond,
+
+    @JsonProperty("done")
+    boolean done
+) {
+
+    @JsonProperty("type")
+    public String type() {
+        return done ? "summary" : "progress";
+    }
+}
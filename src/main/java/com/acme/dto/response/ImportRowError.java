@@ -0,0 +1,20 @@
+package com.acme.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A line of the import that was not loaded. line is 1-based and counts the CSV header.
+ */
+public record ImportRowError(
+    @JsonProperty("line")
+    long line,
+
+    @JsonProperty("message")
+    String message
+) {
+
+    @JsonProperty("type")
+    public String type() {
+        return "error";
+    }
+}
@@ -1,10 +1,17 @@
 package com.acme.dto.response;
 
+import com.acme.dto.summary.LecturerSummaryDto;
 import com.acme.dto.summary.StudentSummaryDto;
 import com.acme.entity.Lecturer;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
+/**
+ * Fields left out by a sparse fieldset, and the roster forms not asked for by studentsView,
+ * are null and omitted from the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record LecturerResponse(
     @JsonProperty("lecturerId")
     String lecturerId,
@@ -16,7 +23,19 @@ public record LecturerResponse(
     String surname,
 
     @JsonProperty("students")
-    List<StudentSummaryDto> students
+    List<StudentSummaryDto> students,
+
+    @JsonProperty("studentIds")
+    List<String> studentIds,
+
+    @JsonProperty("studentCount")
+    Long studentCount,
+
+    /**
+     * studentId to pass as "after" to fetch the next roster page; absent on the last page.
+     */
+    @JsonProperty("nextCursor")
+    String nextCursor
 ) {
     
     public static LecturerResponse from(Lecturer lecturer) {
@@ -28,7 +47,22 @@ public record LecturerResponse(
                 lecturer.getLecturerId(),
                 lecturer.getName(),
                 lecturer.getSurname(),
-                studentSummaries
+                studentSummaries,
+                null,
+                null,
+                null
+        );
+    }
+
+    public static LecturerResponse from(LecturerSummaryDto lecturer, List<StudentSummaryDto> students, String nextCursor) {
+        return new LecturerResponse(
+                lecturer.lecturerId(),
+                lecturer.name(),
+                lecturer.surname(),
+                students,
+                null,
+                null,
+                nextCursor
         );
     }
-} 
\ No newline at end of file
+}
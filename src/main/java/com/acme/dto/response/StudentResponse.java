@@ -1,10 +1,17 @@
 package com.acme.dto.response;
 
 import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
 import com.acme.entity.Student;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
+/**
+ * Fields left out by a sparse fieldset, and the lecturer list forms not asked for by
+ * lecturersView, are null and omitted from the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record StudentResponse(
     @JsonProperty("studentId")
     String studentId,
@@ -16,7 +23,13 @@ public record StudentResponse(
     String surname,
 
     @JsonProperty("lecturers")
-    List<LecturerSummaryDto> lecturers
+    List<LecturerSummaryDto> lecturers,
+
+    @JsonProperty("lecturerIds")
+    List<String> lecturerIds,
+
+    @JsonProperty("lecturerCount")
+    Long lecturerCount
 ) {
     
     public static StudentResponse from(Student student) {
@@ -28,7 +41,20 @@ public record StudentResponse(
                 student.getStudentId(),
                 student.getName(),
                 student.getSurname(),
-                lecturerSummaries
+                lecturerSummaries,
+                null,
+                null
+        );
+    }
+
+    public static StudentResponse from(StudentSummaryDto student, List<LecturerSummaryDto> lecturers) {
+        return new StudentResponse(
+                student.studentId(),
+                student.name(),
+                student.surname(),
+                lecturers,
+                null,
+                null
         );
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.acme.dto.response;
+
+/**
+ * A response body together with the entity version it was read at.
+ * The version is bumped whenever the entity's enrollments change, so it doubles as a strong ETag.
+ */
+public record Versioned<T>(long version, T body) {
+
+    public String eTag() {
+        return eTag(version);
+    }
+
+    public static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Each other representation of the same version (gzip, CBOR, gzipped CBOR) is different
+     * bytes, so it gets its own strong ETag: the version followed by the variant.
+     */
+    public static String eTag(long version, String variant) {
+        return variant == null ? eTag(version) : "\"" + version + "-" + variant + "\"";
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so a W/ prefix is ignored. Any representation's
+     * ETag matches: they all describe the same version.
+     */
+    public static boolean matchesAny(String ifNoneMatch, long version) {
+        String eTag = eTag(version);
+        String variantPrefix = "\"" + version + "-";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag) || tag.startsWith(variantPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.acme.dto.summary;
+
+/**
+ * A lecturer's columns with the size of their roster, read in one grouped query.
+ */
+public record LecturerStudentCountDto(
+    String lecturerId,
+    String name,
+    String surname,
+    long studentCount
+) {}
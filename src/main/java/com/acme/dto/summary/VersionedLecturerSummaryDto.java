@@ -0,0 +1,17 @@
+package com.acme.dto.summary;
+
+/**
+ * A lecturer's columns with the row version, read in one statement for the GET path, which
+ * needs both for the body and its ETag.
+ */
+public record VersionedLecturerSummaryDto(
+    String lecturerId,
+    String name,
+    String surname,
+    long version
+) {
+
+    public LecturerSummaryDto summary() {
+        return new LecturerSummaryDto(lecturerId, name, surname);
+    }
+}
@@ -0,0 +1,16 @@
+package com.acme.dto.summary;
+
+/**
+ * A student's columns with the row version, read in one statement for the GET path.
+ */
+public record VersionedStudentSummaryDto(
+    String studentId,
+    String name,
+    String surname,
+    long version
+) {
+
+    public StudentSummaryDto summary() {
+        return new StudentSummaryDto(studentId, name, surname);
+    }
+}
@@ -1,9 +1,14 @@
 package com.acme.entity;
 
+import com.acme.config.EntityCacheConfig;
 import com.acme.validation.ValidationConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,15 +26,19 @@ import java.util.Set;
     name = "lecturers",
     uniqueConstraints = @UniqueConstraint(
         columnNames = {"lecturer_id"},
-        name = "uk_lecturer_id"
+        name = Lecturer.LECTURER_ID_CONSTRAINT
     )
 )
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.LECTURER_REGION)
+@NaturalIdCache(region = EntityCacheConfig.LECTURER_NATURAL_ID_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString(exclude = "students") // Prevent circular reference in toString
 public class Lecturer {
 
+    public static final String LECTURER_ID_CONSTRAINT = "uk_lecturer_id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -47,12 +56,21 @@ public class Lecturer {
 
     @NotBlank(message = ValidationConstants.LECTURER_ID_MESSAGE)
     @Pattern(regexp = ValidationConstants.ALPHANUMERIC_PATTERN, message = "Lecturer ID " + ValidationConstants.ALPHANUMERIC_MESSAGE)
+    @NaturalId
     @Column(name = "lecturer_id", nullable = false, unique = true)
     private String lecturerId;
 
+    /**
+     * Bumped whenever the enrollment set changes; exposed to clients as the ETag.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Column names are explicit about referencing database IDs.
      */
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.LECTURER_STUDENTS_REGION)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "lecturer_student",
@@ -1,9 +1,14 @@
 package com.acme.entity;
 
+import com.acme.config.EntityCacheConfig;
 import com.acme.validation.ValidationConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,24 +19,30 @@ import java.util.Set;
 
 /**
  * Using studentId as natural business key for uniqueness.
- * ID is auto-generated by database, studentId serves as business identifier.
+ * ID comes from a pooled sequence, studentId serves as business identifier.
+ * A sequence (unlike IDENTITY) lets Hibernate assign ids before flush and batch the inserts.
  */
 @Entity
 @Table(
     name = "students",
     uniqueConstraints = @UniqueConstraint(
         columnNames = {"student_id"},
-        name = "uk_student_id"
+        name = Student.STUDENT_ID_CONSTRAINT
     )
 )
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.STUDENT_REGION)
+@NaturalIdCache(region = EntityCacheConfig.STUDENT_NATURAL_ID_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString(exclude = "lecturers") // Prevent circular reference in toString
 public class Student {
 
+    public static final String STUDENT_ID_CONSTRAINT = "uk_student_id";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -47,9 +58,18 @@ public class Student {
 
     @NotBlank(message = ValidationConstants.STUDENT_ID_MESSAGE)
     @Pattern(regexp = ValidationConstants.ALPHANUMERIC_PATTERN, message = "Student ID " + ValidationConstants.ALPHANUMERIC_MESSAGE)
+    @NaturalId
     @Column(name = "student_id", nullable = false, unique = true)
     private String studentId;
 
+    /**
+     * Bumped whenever the enrollment set changes; exposed to clients as the ETag.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.STUDENT_LECTURERS_REGION)
     @ManyToMany(mappedBy = "students", fetch = FetchType.LAZY)
     private Set<Lecturer> lecturers = new HashSet<>();
 
@@ -0,0 +1,15 @@
+package com.acme.exception;
+
+public class EnrollmentQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public EnrollmentQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.acme.exception;
+
+public class EnrollmentTicketNotFoundException extends RuntimeException {
+    public EnrollmentTicketNotFoundException(String message) {
+        super(message);
+    }
+}
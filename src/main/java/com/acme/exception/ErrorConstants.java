@@ -8,17 +8,40 @@ public final class ErrorConstants {
     public static final String LECTURER_NOT_FOUND_MESSAGE = "Lecturer with ID '%s' not found";
     public static final String LECTURER_ALREADY_EXISTS_MESSAGE = 
             "Lecturer with ID '%s' already exists";
+    public static final String LECTURER_ID_CONFLICT_MESSAGE =
+            "Lecturer with ID '%s' already exists with different name/surname";
     
     public static final String STUDENT_NOT_FOUND_MESSAGE = "Student with ID '%s' not found";
     public static final String STUDENT_ALREADY_ASSIGNED_MESSAGE = 
             "Student with ID '%s' is already assigned to this lecturer";
     public static final String STUDENT_ID_CONFLICT_MESSAGE = 
             "Student with ID '%s' already exists with different name/surname";
+    public static final String STUDENT_CREATED_CONCURRENTLY_MESSAGE =
+            "Student with ID '%s' was just created by another request. Please retry to enroll the existing student.";
+    public static final String STUDENTS_CREATED_CONCURRENTLY_MESSAGE =
+            "A student in this batch was just created by another request. Please retry the batch.";
     
     public static final String VALIDATION_FAILED_MESSAGE = "Input validation failed";
     public static final String INTERNAL_SERVER_ERROR_MESSAGE = "An unexpected error occurred";
     public static final String RATE_LIMIT_EXCEEDED_MESSAGE = 
-            "Too many requests. You have exceeded the rate limit of 20 requests per 10 seconds. Please wait up to 10 seconds before trying again.";
+            "Too many requests. You have exceeded the rate limit of %d requests per %d seconds. Please wait up to %d seconds before trying again.";
+    public static final String DATABASE_BUSY_MESSAGE =
+            "The service is busy. Please retry shortly.";
+    public static final String ENROLLMENT_QUEUE_FULL_MESSAGE =
+            "Too many enrollments are waiting to be processed. Please retry in %d seconds.";
+    public static final String ENROLLMENT_TICKET_NOT_FOUND_MESSAGE = "Enrollment ticket '%s' not found";
+    public static final String IDEMPOTENCY_KEY_TOO_LONG_MESSAGE =
+            "Idempotency-Key must be at most %d characters";
+    public static final String IDEMPOTENCY_KEY_REUSED_MESSAGE =
+            "This Idempotency-Key was already used for a different request";
+    public static final String IDEMPOTENCY_BODY_TOO_LARGE_MESSAGE =
+            "Request bodies sent with an Idempotency-Key must be at most %d bytes";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE =
+            "A request with this Idempotency-Key is still being processed. Please retry in %d seconds.";
+    public static final String BATCH_TOO_LARGE_MESSAGE = "At most %d ids can be requested at once, got %d";
+    public static final String IMPORT_CSV_HEADER_MESSAGE = "CSV header must be '%s'";
+    public static final String IMPORT_MALFORMED_ROW_MESSAGE = "Malformed row: %s";
+    public static final String IMPORT_CHUNK_FAILED_MESSAGE = "Row was not imported: %s";
 
     
     public static String formatLecturerNotFound(Object lecturerId) {
@@ -29,6 +52,10 @@ public final class ErrorConstants {
         return String.format(LECTURER_ALREADY_EXISTS_MESSAGE, lecturerId);
     }
     
+    public static String formatLecturerIdConflict(String lecturerId) {
+        return String.format(LECTURER_ID_CONFLICT_MESSAGE, lecturerId);
+    }
+    
     public static String formatStudentNotFound(Object studentId) {
         return String.format(STUDENT_NOT_FOUND_MESSAGE, studentId);
     }
@@ -41,7 +68,58 @@ public final class ErrorConstants {
         return String.format(STUDENT_ID_CONFLICT_MESSAGE, studentId);
     }
     
+    public static String formatStudentCreatedConcurrently(String studentId) {
+        return String.format(STUDENT_CREATED_CONCURRENTLY_MESSAGE, studentId);
+    }
+    
+    public static String formatRateLimitExceeded(long limit, long periodSeconds, long retryAfterSeconds) {
+        return String.format(RATE_LIMIT_EXCEEDED_MESSAGE, limit, periodSeconds, retryAfterSeconds);
+    }
+    
+    public static String formatEnrollmentQueueFull(long retryAfterSeconds) {
+        return String.format(ENROLLMENT_QUEUE_FULL_MESSAGE, retryAfterSeconds);
+    }
+    
+    public static String formatEnrollmentTicketNotFound(String ticketId) {
+        return String.format(ENROLLMENT_TICKET_NOT_FOUND_MESSAGE, ticketId);
+    }
+    
+    public static String formatIdempotencyKeyTooLong(int maxLength) {
+        return String.format(IDEMPOTENCY_KEY_TOO_LONG_MESSAGE, maxLength);
+    }
+    
+    public static String formatIdempotencyBodyTooLarge(int maxBytes) {
+        return String.format(IDEMPOTENCY_BODY_TOO_LARGE_MESSAGE, maxBytes);
+    }
+    
+    public static String formatIdempotencyKeyInProgress(long retryAfterSeconds) {
+        return String.format(IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE, retryAfterSeconds);
+    }
+    
+    public static String formatBatchTooLarge(int maxIds, int requested) {
+        return String.format(BATCH_TOO_LARGE_MESSAGE, maxIds, requested);
+    }
+    
+    public static String formatImportCsvHeader(String expectedHeader) {
+        return String.format(IMPORT_CSV_HEADER_MESSAGE, expectedHeader);
+    }
+    
+    public static String formatImportMalformedRow(String reason) {
+        return String.format(IMPORT_MALFORMED_ROW_MESSAGE, reason);
+    }
+    
+    public static String formatImportChunkFailed(String reason) {
+        return String.format(IMPORT_CHUNK_FAILED_MESSAGE, reason);
+    }
+    
     public static String createRateLimitJsonWithoutRetry(String message, String timestamp) {
+        return createErrorJson(message, timestamp);
+    }
+    
+    /**
+     * An {@code ErrorResponse} body, for filters that answer before the DispatcherServlet.
+     */
+    public static String createErrorJson(String message, String timestamp) {
         return String.format("{\"message\":\"%s\",\"timestamp\":\"%s\"}", 
             message.replace("\"", "\\\""), timestamp);
     }
@@ -2,7 +2,8 @@ package com.acme.exception;
 
 import com.acme.dto.error.ErrorResponse;
 import com.acme.dto.error.ValidationErrorResponse;
-import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -39,12 +40,28 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
-    @ExceptionHandler(RequestNotPermitted.class)
-    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RequestNotPermitted ex) {
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                .header("X-RateLimit-Limit", "20")
-                .header("Retry-After", "10")
-                .body(new ErrorResponse(RATE_LIMIT_EXCEEDED_MESSAGE, LocalDateTime.now()));
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ErrorResponse> handleDatabaseBusy(DatabaseBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(new ErrorResponse(ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(EnrollmentQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleEnrollmentQueueFull(EnrollmentQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(EnrollmentTicketNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEnrollmentTicketNotFound(EnrollmentTicketNotFoundException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLarge(BatchTooLargeException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -59,6 +76,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ValidationErrorResponse> handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            fieldErrors.put(lastNode(violation.getPropertyPath().toString()), violation.getMessage());
+        }
+
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse(
+                VALIDATION_FAILED_MESSAGE,
+                fieldErrors,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         return createErrorResponse(INTERNAL_SERVER_ERROR_MESSAGE, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -78,4 +110,9 @@ public class GlobalExceptionHandler {
         });
         return errors;
     }
+
+    // "getLecturer.limit" -> "limit"
+    private String lastNode(String propertyPath) {
+        return propertyPath.substring(propertyPath.lastIndexOf('.') + 1);
+    }
 } 
\ No newline at end of file
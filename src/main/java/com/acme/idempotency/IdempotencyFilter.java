@@ -0,0 +1,332 @@
+package com.acme.idempotency;
+
+import com.acme.config.IdempotencyProperties;
+import com.acme.ratelimit.ClientIdentity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.acme.exception.ErrorConstants.IDEMPOTENCY_KEY_REUSED_MESSAGE;
+import static com.acme.exception.ErrorConstants.createErrorJson;
+import static com.acme.exception.ErrorConstants.formatIdempotencyBodyTooLarge;
+import static com.acme.exception.ErrorConstants.formatIdempotencyKeyInProgress;
+import static com.acme.exception.ErrorConstants.formatIdempotencyKeyTooLong;
+
+/**
+ * Makes POSTs carrying an Idempotency-Key safe to retry. The first request with a key runs;
+ * a successful (2xx) response is kept and replayed to later requests with the same key and
+ * body, without reaching the controller. Duplicates that arrive while the first is still
+ * running wait for its response instead of racing it into the database.
+ * <p>
+ * Keys are scoped to the client, identified as for rate limiting. Error responses are handed
+ * to waiting duplicates but not kept, so a client can retry after fixing the cause. Reusing a
+ * key for a different request is answered with 422.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    // Everything else (rate limit headers, dates) belongs to the request being answered.
+    private static final List<String> REPLAYED_HEADERS =
+            List.of("Location", "Content-Type", "ETag", "Preference-Applied");
+
+    private static final StoredResponse TIMED_OUT = new StoredResponse(0, Map.of(), new byte[0]);
+
+    private final List<PathPattern> patterns;
+    private final ClientIdentity clientIdentity;
+    private final long inFlightTimeoutMillis;
+    private final int maxBodyBytes;
+    private final Cache<StoreKey, Entry> responses;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyFilter(IdempotencyProperties properties, ClientIdentity clientIdentity, MeterRegistry meterRegistry) {
+        this.patterns = properties.patterns().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.clientIdentity = clientIdentity;
+        this.inFlightTimeoutMillis = properties.inFlightTimeout().toMillis();
+        this.maxBodyBytes = Math.toIntExact(properties.maxBodySize().toBytes());
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.executed = requestCounter(meterRegistry, "executed");
+        this.replayed = requestCounter(meterRegistry, "replayed");
+        this.rejected = requestCounter(meterRegistry, "rejected");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("acme.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key == null || key.isBlank() || !"POST".equals(request.getMethod()) || !matches(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            rejected.increment();
+            writeError(response, HttpStatus.BAD_REQUEST, formatIdempotencyKeyTooLong(MAX_KEY_LENGTH));
+            return;
+        }
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            rejected.increment();
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, formatIdempotencyBodyTooLarge(maxBodyBytes));
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        StoreKey storeKey = new StoreKey(clientIdentity.clientKey(request), key);
+        String fingerprint = fingerprint(cachedRequest);
+
+        while (true) {
+            Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = responses.asMap().putIfAbsent(storeKey, entry);
+            if (existing == null) {
+                execute(cachedRequest, response, filterChain, storeKey, entry);
+                return;
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                rejected.increment();
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_REUSED_MESSAGE);
+                return;
+            }
+            StoredResponse stored = await(existing);
+            if (stored == TIMED_OUT) {
+                rejected.increment();
+                response.setHeader("Retry-After", "1");
+                writeError(response, HttpStatus.CONFLICT, formatIdempotencyKeyInProgress(1));
+                return;
+            }
+            if (stored != null) {
+                replayed.increment();
+                stored.writeTo(response);
+                return;
+            }
+            // The first request failed without a response; the key is free again, so claim it.
+        }
+    }
+
+    /**
+     * @return the body, or null if it is larger than maxBodyBytes; a declared length is checked
+     *         before anything is read, and an undeclared one stops one byte past the limit
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        return body.length > maxBodyBytes ? null : body;
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         StoreKey storeKey, Entry entry) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, capturing);
+        } catch (ServletException | IOException | RuntimeException e) {
+            responses.asMap().remove(storeKey, entry);
+            entry.response().complete(null);
+            throw e;
+        }
+
+        StoredResponse stored = StoredResponse.capture(capturing);
+        if (!HttpStatus.Series.SUCCESSFUL.equals(HttpStatus.Series.resolve(stored.status()))) {
+            responses.asMap().remove(storeKey, entry);
+        }
+        entry.response().complete(stored);
+        capturing.copyBodyToResponse();
+    }
+
+    /**
+     * @return the response of the request holding the key, null if it failed without one,
+     *         or TIMED_OUT if it is still running after inFlightTimeout
+     */
+    private StoredResponse await(Entry entry) throws ServletException {
+        try {
+            return entry.response().get(inFlightTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(request.body());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(createErrorJson(message, LocalDateTime.now().toString()));
+    }
+
+    private record StoreKey(String client, String key) {}
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> response) {}
+
+    private record StoredResponse(int status, Map<String, String> headers, byte[] body) {
+
+        static StoredResponse capture(ContentCachingResponseWrapper response) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : REPLAYED_HEADERS) {
+                String value = response.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            return new StoredResponse(response.getStatus(), headers, response.getContentAsByteArray());
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headers.forEach(response::setHeader);
+            response.setHeader(REPLAYED_HEADER, "true");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Serves the body that was read up front for the fingerprint to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                private ReadListener readListener;
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at once: the listener reads
+                // it in onDataAvailable (isReady never turns false) and is then told it is done.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (listener == null) {
+                        throw new NullPointerException("ReadListener must not be null");
+                    }
+                    if (readListener != null) {
+                        throw new IllegalStateException("ReadListener already set");
+                    }
+                    readListener = listener;
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.acme.ratelimit;
+
+import com.acme.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The identity a client is budgeted under: its API key when the key is one of
+ * acme.rate-limit.api-keys, otherwise its IP address. An unknown key counts as no key, so
+ * sending a new value does not buy a fresh bucket. Also used to pin a client's reads after it
+ * writes and to scope its idempotency keys.
+ */
+public class ClientIdentity {
+
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+
+    public ClientIdentity(String apiKeyHeader, Collection<String> apiKeys) {
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = apiKeys == null ? Set.of() : Set.copyOf(apiKeys);
+    }
+
+    public static ClientIdentity of(RateLimitProperties properties) {
+        return new ClientIdentity(properties.apiKeyHeader(), properties.apiKeys());
+    }
+
+    public String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
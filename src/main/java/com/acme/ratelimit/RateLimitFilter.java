@@ -0,0 +1,143 @@
+package com.acme.ratelimit;
+
+import com.acme.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.acme.exception.ErrorConstants.createRateLimitJsonWithoutRetry;
+import static com.acme.exception.ErrorConstants.formatRateLimitExceeded;
+
+/**
+ * Keyed rate limiting in front of the DispatcherServlet, so a rejected request is never
+ * deserialized or validated. Clients are identified by a known API key, falling back to IP
+ * address (ClientIdentity).
+ * Buckets live in a bounded Caffeine map and are dropped once a client goes idle.
+ * Every decision is counted in acme.ratelimit.requests, tagged by route and outcome.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Route> routes;
+    private final ClientIdentity clientIdentity;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.routes = properties.routes().stream()
+                .map(route -> Route.compile(route, meterRegistry))
+                .toList();
+        this.clientIdentity = ClientIdentity.of(properties);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.idleClientTtl())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new BucketKey(clientIdentity.clientKey(request), route.name()),
+                key -> new TokenBucket(route.capacity(), route.refillPeriodNanos(), now));
+        TokenBucket.Probe probe = bucket.tryConsume(now);
+
+        // Reset is when the whole budget is back; a rejected client can retry as soon as one token is.
+        response.setHeader("X-RateLimit-Limit", String.valueOf(bucket.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSecondsRoundingUp(probe.nanosUntilFull())));
+
+        if (probe.consumed()) {
+            route.permitted().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        route.rejected().increment();
+
+        long retryAfterSeconds = toSecondsRoundingUp(probe.nanosUntilNextToken());
+        String message = formatRateLimitExceeded(bucket.capacity(),
+                toSecondsRoundingUp(route.refillPeriodNanos()), retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(createRateLimitJsonWithoutRetry(message, LocalDateTime.now().toString()));
+    }
+
+    private Route match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static long toSecondsRoundingUp(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record BucketKey(String client, String route) {}
+
+    private record Route(String name, Set<String> methods, List<PathPattern> patterns,
+                         long capacity, long refillPeriodNanos, Counter permitted, Counter rejected) {
+
+        static Route compile(RateLimitProperties.Route route, MeterRegistry meterRegistry) {
+            Set<String> methods = route.methods() == null ? Set.of() : route.methods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            List<PathPattern> patterns = route.patterns().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            return new Route(route.name(), methods, patterns, route.capacity(), route.refillPeriod().toNanos(),
+                    requestCounter(meterRegistry, route.name(), "permitted"),
+                    requestCounter(meterRegistry, route.name(), "rejected"));
+        }
+
+        private static Counter requestCounter(MeterRegistry meterRegistry, String route, String outcome) {
+            return Counter.builder("acme.ratelimit.requests")
+                    .description("Requests checked against a rate-limit route")
+                    .tag("route", route)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
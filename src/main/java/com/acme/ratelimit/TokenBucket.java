@@ -0,0 +1,54 @@
+package com.acme.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket that refills continuously: one token every period / capacity, up to
+ * capacity. A client that spent its whole budget gets one request per interval back, not the
+ * full budget at a period boundary, so no window ever admits more than capacity plus what
+ * refilled during it.
+ * <p>
+ * The whole state is one AtomicLong: the nanoTime at which the bucket is full again. Every
+ * request pushes it one interval further, and a request that would push it more than a
+ * period past now is rejected, so a request costs a single CAS.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, long periodNanos, long nowNanos) {
+        this.capacity = capacity;
+        // Rounded down to whole nanoseconds; the error is at most capacity nanoseconds per period.
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    Probe tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            // Compared by difference: nanoTime may be negative and may overflow.
+            long start = current - nowNanos < 0 ? nowNanos : current;
+            long owed = start + intervalNanos - nowNanos;
+            if (owed > burstNanos) {
+                return new Probe(false, 0, start - nowNanos, owed - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return new Probe(true, (burstNanos - owed) / intervalNanos, owed, 0);
+            }
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param nanosUntilFull      until the bucket holds capacity tokens again
+     * @param nanosUntilNextToken until a rejected request would be let through; 0 when consumed
+     */
+    record Probe(boolean consumed, long remaining, long nanosUntilFull, long nanosUntilNextToken) {}
+}
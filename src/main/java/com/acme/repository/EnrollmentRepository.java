@@ -0,0 +1,121 @@
+package com.acme.repository;
+
+import com.acme.entity.Lecturer;
+import com.acme.entity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes lecturer_student rows with plain JDBC. Going through Lecturer.students would
+ * initialize the whole roster just to add a few rows to it.
+ */
+@Repository
+public class EnrollmentRepository {
+
+    private static final String INSERT_ENROLLMENT_SQL =
+            "INSERT INTO lecturer_student (lecturer_db_id, student_db_id) VALUES (?, ?)";
+
+    /**
+     * Insert-if-absent that works on both H2 and Postgres. The NOT EXISTS probe and the insert
+     * are both lookups on the (lecturer_db_id, student_db_id) primary key, so the cost does not
+     * depend on how many students the lecturer already has.
+     */
+    static final String INSERT_ENROLLMENT_IF_ABSENT_SQL =
+            "INSERT INTO lecturer_student (lecturer_db_id, student_db_id) " +
+            "SELECT ?, ? WHERE NOT EXISTS (" +
+            "SELECT 1 FROM lecturer_student WHERE lecturer_db_id = ? AND student_db_id = ?)";
+
+    private static final String INCREMENT_LECTURER_VERSIONS_SQL =
+            "UPDATE lecturers SET version = version + 1 WHERE id IN (:ids)";
+
+    private static final String INCREMENT_STUDENT_VERSIONS_SQL =
+            "UPDATE students SET version = version + 1 WHERE id IN (:ids)";
+
+    private static final String LECTURER_STUDENTS_ROLE = Lecturer.class.getName() + ".students";
+    private static final String STUDENT_LECTURERS_ROLE = Student.class.getName() + ".lecturers";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Cache entityCache;
+    private final int batchSize;
+
+    public EnrollmentRepository(JdbcTemplate jdbcTemplate,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.entityCache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.batchSize = batchSize;
+    }
+
+    public void insertEnrollments(Long lecturerDbId, List<Long> studentDbIds) {
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT_SQL, studentDbIds, batchSize, (ps, studentDbId) -> {
+            ps.setLong(1, lecturerDbId);
+            ps.setLong(2, studentDbId);
+        });
+    }
+
+    /**
+     * @return false if the student was already enrolled with this lecturer
+     */
+    public boolean insertEnrollmentIfAbsent(Long lecturerDbId, Long studentDbId) {
+        try {
+            return jdbcTemplate.update(INSERT_ENROLLMENT_IF_ABSENT_SQL,
+                    lecturerDbId, studentDbId, lecturerDbId, studentDbId) == 1;
+        } catch (DuplicateKeyException e) {
+            // A concurrent request inserted the same row between our probe and insert.
+            return false;
+        }
+    }
+
+    /**
+     * Records that the rosters of these lecturers and the lecturer lists of these students changed.
+     * Versions get a relative increment, which cannot lose updates to concurrent enrollments.
+     * <p>
+     * Plain JDBC rather than a bulk HQL update: Hibernate would answer one of those by dropping the
+     * whole Lecturer and Student second-level cache regions. Instead exactly the changed entities
+     * and collections are evicted, after commit so a concurrent reader cannot re-cache the old state.
+     */
+    public void markChanged(Collection<Long> lecturerDbIds, Collection<Long> studentDbIds) {
+        if (!lecturerDbIds.isEmpty()) {
+            namedJdbcTemplate.update(INCREMENT_LECTURER_VERSIONS_SQL, Map.of("ids", lecturerDbIds));
+        }
+        if (!studentDbIds.isEmpty()) {
+            namedJdbcTemplate.update(INCREMENT_STUDENT_VERSIONS_SQL, Map.of("ids", studentDbIds));
+        }
+
+        List<Long> lecturers = List.copyOf(lecturerDbIds);
+        List<Long> students = List.copyOf(studentDbIds);
+        Runnable evict = () -> {
+            lecturers.forEach(id -> {
+                entityCache.evictEntityData(Lecturer.class, id);
+                entityCache.evictCollectionData(LECTURER_STUDENTS_ROLE, id);
+            });
+            students.forEach(id -> {
+                entityCache.evictEntityData(Student.class, id);
+                entityCache.evictCollectionData(STUDENT_LECTURERS_ROLE, id);
+            });
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
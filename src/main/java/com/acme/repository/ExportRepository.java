@@ -0,0 +1,91 @@
+package com.acme.repository;
+
+import com.acme.config.ExportProperties;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.BiConsumer;
+
+/**
+ * Forward-only cursors over lecturer/student enrollments for the bulk export.
+ * Each row is handed to the caller as it is read, so nothing is materialized here.
+ * On Postgres the fetch size only turns into a server-side cursor inside a transaction.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final String LECTURER_ROWS_SQL =
+            "SELECT l.lecturer_id, l.name, l.surname, s.student_id, s.name, s.surname " +
+            "FROM lecturers l " +
+            "LEFT JOIN lecturer_student ls ON ls.lecturer_db_id = l.id " +
+            "LEFT JOIN students s ON s.id = ls.student_db_id ";
+    private static final String LECTURER_ORDER = "ORDER BY l.lecturer_id, s.student_id";
+
+    private static final String STUDENT_ROWS_SQL =
+            "SELECT s.student_id, s.name, s.surname, l.lecturer_id, l.name, l.surname " +
+            "FROM students s " +
+            "LEFT JOIN lecturer_student ls ON ls.student_db_id = s.id " +
+            "LEFT JOIN lecturers l ON l.id = ls.lecturer_db_id ";
+    private static final String STUDENT_ORDER = "ORDER BY s.student_id, l.lecturer_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(JdbcTemplate jdbcTemplate, ExportProperties properties) {
+        // A copy, so the fetch size does not leak into every other JdbcTemplate query.
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+    }
+
+    /**
+     * Calls action once per enrollment, ordered by lecturerId then studentId. Consecutive rows of
+     * one lecturer share the same LecturerSummaryDto instance; a lecturer without students is
+     * passed once with a null student.
+     */
+    public void forEachLecturerRow(String afterLecturerId,
+                                   BiConsumer<LecturerSummaryDto, StudentSummaryDto> action) {
+        streamGrouped(LECTURER_ROWS_SQL, "l.lecturer_id", LECTURER_ORDER, afterLecturerId,
+                (rs, rowNum) -> new LecturerSummaryDto(rs.getString(1), rs.getString(2), rs.getString(3)),
+                (rs, rowNum) -> new StudentSummaryDto(rs.getString(4), rs.getString(5), rs.getString(6)),
+                action);
+    }
+
+    public void forEachStudentRow(String afterStudentId,
+                                  BiConsumer<StudentSummaryDto, LecturerSummaryDto> action) {
+        streamGrouped(STUDENT_ROWS_SQL, "s.student_id", STUDENT_ORDER, afterStudentId,
+                (rs, rowNum) -> new StudentSummaryDto(rs.getString(1), rs.getString(2), rs.getString(3)),
+                (rs, rowNum) -> new LecturerSummaryDto(rs.getString(4), rs.getString(5), rs.getString(6)),
+                action);
+    }
+
+    private <O, M> void streamGrouped(String select, String keyColumn, String orderBy, String after,
+                                      RowMapper<O> ownerMapper, RowMapper<M> memberMapper,
+                                      BiConsumer<O, M> action) {
+        RowCallbackHandler handler = new RowCallbackHandler() {
+            private String currentId;
+            private O current;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                String ownerId = rs.getString(1);
+                if (!ownerId.equals(currentId)) {
+                    currentId = ownerId;
+                    current = ownerMapper.mapRow(rs, rs.getRow());
+                }
+                M member = rs.getString(4) == null ? null : memberMapper.mapRow(rs, rs.getRow());
+                action.accept(current, member);
+            }
+        };
+
+        if (after == null) {
+            jdbcTemplate.query(select + orderBy, handler);
+        } else {
+            jdbcTemplate.query(select + "WHERE " + keyColumn + " > ? " + orderBy, handler, after);
+        }
+    }
+}
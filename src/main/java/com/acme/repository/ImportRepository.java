@@ -0,0 +1,246 @@
+package com.acme.repository;
+
+import com.acme.entity.Student;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Set-based writes for the enrollment import. On Postgres each table is loaded with COPY into a
+ * session temp table and merged with INSERT ... SELECT ... ON CONFLICT DO NOTHING RETURNING, so
+ * rows created concurrently through the API are skipped instead of failing the chunk, and the
+ * caller learns which rows it actually created. Other databases (H2) get JDBC batches, where a
+ * concurrent create fails the chunk. All methods must run inside the caller's transaction.
+ */
+@Repository
+public class ImportRepository {
+
+    /** Natural-key row as it exists in the database. */
+    public record ExistingRow(long id, String name, String surname) {}
+
+    public record NewLecturer(String lecturerId, String name, String surname) {}
+
+    public record NewStudent(long id, String studentId, String name, String surname) {}
+
+    public record Enrollment(long lecturerDbId, long studentDbId) {}
+
+    private static final String SELECT_LECTURERS_SQL =
+            "SELECT id, lecturer_id, name, surname FROM lecturers WHERE lecturer_id IN (:ids)";
+    private static final String SELECT_STUDENTS_SQL =
+            "SELECT id, student_id, name, surname FROM students WHERE student_id IN (:ids)";
+
+    private static final String INSERT_LECTURER_SQL =
+            "INSERT INTO lecturers (lecturer_id, name, surname, version) VALUES (?, ?, ?, 0)";
+    private static final String INSERT_STUDENT_SQL =
+            "INSERT INTO students (id, student_id, name, surname, version) VALUES (?, ?, ?, ?, 0)";
+
+    // Temp tables live for the pooled connection; ON COMMIT DELETE ROWS empties them per chunk.
+    private static final String PG_CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS import_lecturers " +
+            "(lecturer_id varchar(255), name varchar(255), surname varchar(255)) ON COMMIT DELETE ROWS; " +
+            "CREATE TEMP TABLE IF NOT EXISTS import_students " +
+            "(id bigint, student_id varchar(255), name varchar(255), surname varchar(255)) ON COMMIT DELETE ROWS; " +
+            "CREATE TEMP TABLE IF NOT EXISTS import_enrollments " +
+            "(lecturer_db_id bigint, student_db_id bigint) ON COMMIT DELETE ROWS";
+    private static final String PG_COPY_LECTURERS_SQL =
+            "COPY import_lecturers (lecturer_id, name, surname) FROM STDIN WITH (FORMAT csv)";
+    private static final String PG_COPY_STUDENTS_SQL =
+            "COPY import_students (id, student_id, name, surname) FROM STDIN WITH (FORMAT csv)";
+    private static final String PG_COPY_ENROLLMENTS_SQL =
+            "COPY import_enrollments (lecturer_db_id, student_db_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String PG_MERGE_LECTURERS_SQL =
+            "INSERT INTO lecturers (lecturer_id, name, surname, version) " +
+            "SELECT lecturer_id, name, surname, 0 FROM import_lecturers ON CONFLICT (lecturer_id) DO NOTHING " +
+            "RETURNING id, lecturer_id, name, surname";
+    private static final String PG_MERGE_STUDENTS_SQL =
+            "INSERT INTO students (id, student_id, name, surname, version) " +
+            "SELECT id, student_id, name, surname, 0 FROM import_students ON CONFLICT (student_id) DO NOTHING " +
+            "RETURNING id, student_id, name, surname";
+    private static final String PG_MERGE_ENROLLMENTS_SQL =
+            "INSERT INTO lecturer_student (lecturer_db_id, student_db_id) " +
+            "SELECT lecturer_db_id, student_db_id FROM import_enrollments ON CONFLICT DO NOTHING " +
+            "RETURNING lecturer_db_id, student_db_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final boolean postgres;
+
+    public ImportRepository(JdbcTemplate jdbcTemplate,
+                            EntityManager entityManager,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+    }
+
+    public Map<String, ExistingRow> findLecturers(Collection<String> lecturerIds) {
+        return findByNaturalKey(SELECT_LECTURERS_SQL, lecturerIds);
+    }
+
+    public Map<String, ExistingRow> findStudents(Collection<String> studentIds) {
+        return findByNaturalKey(SELECT_STUDENTS_SQL, studentIds);
+    }
+
+    /**
+     * Ids come from Hibernate's own pooled student_seq optimizer, so they never collide with
+     * students persisted through JPA.
+     */
+    public long nextStudentId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Student.class).getGenerator();
+        return ((Number) generator.generate(session, null)).longValue();
+    }
+
+    /**
+     * @return the lecturers this call created, by lecturer id; without those another
+     *         transaction created first
+     */
+    public Map<String, ExistingRow> insertLecturers(List<NewLecturer> lecturers) {
+        if (lecturers.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (postgres) {
+            return copyAndMerge(PG_COPY_LECTURERS_SQL, PG_MERGE_LECTURERS_SQL, lecturers,
+                    lecturer -> csvLine(lecturer.lecturerId(), lecturer.name(), lecturer.surname()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_LECTURER_SQL, lecturers, batchSize, (ps, lecturer) -> {
+            ps.setString(1, lecturer.lecturerId());
+            ps.setString(2, lecturer.name());
+            ps.setString(3, lecturer.surname());
+        });
+        // Lecturer ids are IDENTITY; the batch either inserted every row or failed.
+        return findLecturers(lecturers.stream().map(NewLecturer::lecturerId).toList());
+    }
+
+    /**
+     * @return the students this call created, by student id; without those another
+     *         transaction created first
+     */
+    public Map<String, ExistingRow> insertStudents(List<NewStudent> students) {
+        if (students.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (postgres) {
+            return copyAndMerge(PG_COPY_STUDENTS_SQL, PG_MERGE_STUDENTS_SQL, students,
+                    student -> csvLine(String.valueOf(student.id()), student.studentId(), student.name(), student.surname()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, students, batchSize, (ps, student) -> {
+            ps.setLong(1, student.id());
+            ps.setString(2, student.studentId());
+            ps.setString(3, student.name());
+            ps.setString(4, student.surname());
+        });
+        Map<String, ExistingRow> created = new HashMap<>();
+        students.forEach(student -> created.put(student.studentId(),
+                new ExistingRow(student.id(), student.name(), student.surname())));
+        return created;
+    }
+
+    /**
+     * @return the enrollments that did not exist yet and were inserted
+     */
+    public List<Enrollment> insertEnrollmentsIfAbsent(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return List.of();
+        }
+        if (postgres) {
+            copy(PG_COPY_ENROLLMENTS_SQL, enrollments,
+                    enrollment -> csvLine(String.valueOf(enrollment.lecturerDbId()), String.valueOf(enrollment.studentDbId())));
+            return jdbcTemplate.query(PG_MERGE_ENROLLMENTS_SQL,
+                    (rs, rowNum) -> new Enrollment(rs.getLong(1), rs.getLong(2)));
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(EnrollmentRepository.INSERT_ENROLLMENT_IF_ABSENT_SQL,
+                enrollments, batchSize, (ps, enrollment) -> {
+                    ps.setLong(1, enrollment.lecturerDbId());
+                    ps.setLong(2, enrollment.studentDbId());
+                    ps.setLong(3, enrollment.lecturerDbId());
+                    ps.setLong(4, enrollment.studentDbId());
+                });
+        List<Enrollment> inserted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    inserted.add(enrollments.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+
+    private Map<String, ExistingRow> findByNaturalKey(String sql, Collection<String> keys) {
+        Map<String, ExistingRow> rows = new HashMap<>();
+        if (keys.isEmpty()) {
+            return rows;
+        }
+        namedJdbcTemplate.query(sql, new MapSqlParameterSource("ids", keys), naturalKeyRows(rows));
+        return rows;
+    }
+
+    /**
+     * Merges the staged rows; the merge returns (id, natural key, name, surname) of each row it inserted.
+     */
+    private <T> Map<String, ExistingRow> copyAndMerge(String copySql, String mergeSql, List<T> rows,
+                                                      Function<T, String> toCsv) {
+        copy(copySql, rows, toCsv);
+        Map<String, ExistingRow> inserted = new HashMap<>();
+        jdbcTemplate.query(mergeSql, naturalKeyRows(inserted));
+        return inserted;
+    }
+
+    private static RowCallbackHandler naturalKeyRows(Map<String, ExistingRow> rows) {
+        return rs -> rows.put(rs.getString(2), new ExistingRow(rs.getLong(1), rs.getString(3), rs.getString(4)));
+    }
+
+    private <T> void copy(String copySql, List<T> rows, Function<T, String> toCsv) {
+        // Values are validated alphanumerics and numbers, so no CSV quoting is needed.
+        StringBuilder data = new StringBuilder(rows.size() * 48);
+        rows.forEach(row -> data.append(toCsv.apply(row)));
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            createStagingTables(connection);
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(copySql, new StringReader(data.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY failed", e);
+            }
+        });
+    }
+
+    private static void createStagingTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(PG_CREATE_STAGING_SQL);
+        }
+    }
+
+    private static String csvLine(String... values) {
+        return String.join(",", values) + "\n";
+    }
+}
@@ -1,22 +1,88 @@
 package com.acme.repository;
 
+import com.acme.dto.summary.LecturerStudentCountDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.dto.summary.VersionedLecturerSummaryDto;
 import com.acme.entity.Lecturer;
-import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LecturerRepository extends JpaRepository<Lecturer, Long> {
-    
-    boolean existsByLecturerId(String lecturerId);
-    
-    Optional<Lecturer> findByLecturerId(String lecturerId);
-
-    @Query("SELECT l FROM Lecturer l WHERE l.lecturerId = :lecturerId")
-    @EntityGraph(attributePaths = {"students"})
-    Optional<Lecturer> findLecturerWithStudents(@Param("lecturerId") String lecturerId);
-}
\ No newline at end of file
+public interface LecturerRepository extends NaturalIdRepository<Lecturer, Long> {
+
+    /**
+     * Natural-id lookup for the enrollment write paths: answered from the second-level cache
+     * once the lecturer has been loaded.
+     */
+    default Optional<Lecturer> findByLecturerId(String lecturerId) {
+        return findBySimpleNaturalId(lecturerId);
+    }
+
+    /**
+     * Read path: selects the columns and the version straight into the DTO, no managed entity
+     * or snapshot, so the body and its ETag come from one statement.
+     */
+    @Query("SELECT new com.acme.dto.summary.VersionedLecturerSummaryDto(l.lecturerId, l.name, l.surname, l.version) " +
+           "FROM Lecturer l WHERE l.lecturerId = :lecturerId")
+    Optional<VersionedLecturerSummaryDto> findVersionedSummaryByLecturerId(@Param("lecturerId") String lecturerId);
+
+    @Query("SELECT l.version FROM Lecturer l WHERE l.lecturerId = :lecturerId")
+    Optional<Long> findVersionByLecturerId(@Param("lecturerId") String lecturerId);
+
+    /**
+     * Multi-get: each lecturer with the size of their roster, in one grouped query. Rosters
+     * can be large, so they are not part of a multi-get.
+     */
+    @Query("SELECT new com.acme.dto.summary.LecturerStudentCountDto(l.lecturerId, l.name, l.surname, COUNT(s)) " +
+           "FROM Lecturer l LEFT JOIN l.students s " +
+           "WHERE l.lecturerId IN :lecturerIds " +
+           "GROUP BY l.id, l.lecturerId, l.name, l.surname")
+    List<LecturerStudentCountDto> findStudentCounts(@Param("lecturerIds") Collection<String> lecturerIds);
+
+    @Query("SELECT s.studentId FROM Lecturer l JOIN l.students s " +
+           "WHERE l.id = :lecturerDbId AND s.studentId IN :studentIds")
+    List<String> findEnrolledStudentIds(@Param("lecturerDbId") Long lecturerDbId,
+                                        @Param("studentIds") Collection<String> studentIds);
+
+    /**
+     * Keyset pagination over the roster: studentId is unique, so it is a stable sort key
+     * and "after" never skips or repeats rows while students are being added.
+     */
+    @Query("SELECT new com.acme.dto.summary.StudentSummaryDto(s.studentId, s.name, s.surname) " +
+           "FROM Lecturer l JOIN l.students s " +
+           "WHERE l.lecturerId = :lecturerId " +
+           "ORDER BY s.studentId")
+    List<StudentSummaryDto> findRosterPage(@Param("lecturerId") String lecturerId, Limit limit);
+
+    @Query("SELECT new com.acme.dto.summary.StudentSummaryDto(s.studentId, s.name, s.surname) " +
+           "FROM Lecturer l JOIN l.students s " +
+           "WHERE l.lecturerId = :lecturerId AND s.studentId > :after " +
+           "ORDER BY s.studentId")
+    List<StudentSummaryDto> findRosterPageAfter(@Param("lecturerId") String lecturerId,
+                                                @Param("after") String after,
+                                                Limit limit);
+
+    /**
+     * Id-only form of the roster page, for studentsView=ids: no name columns are read.
+     */
+    @Query("SELECT s.studentId FROM Lecturer l JOIN l.students s " +
+           "WHERE l.lecturerId = :lecturerId " +
+           "ORDER BY s.studentId")
+    List<String> findRosterIdPage(@Param("lecturerId") String lecturerId, Limit limit);
+
+    @Query("SELECT s.studentId FROM Lecturer l JOIN l.students s " +
+           "WHERE l.lecturerId = :lecturerId AND s.studentId > :after " +
+           "ORDER BY s.studentId")
+    List<String> findRosterIdPageAfter(@Param("lecturerId") String lecturerId,
+                                       @Param("after") String after,
+                                       Limit limit);
+
+    @Query("SELECT COUNT(s) FROM Lecturer l JOIN l.students s WHERE l.lecturerId = :lecturerId")
+    long countStudents(@Param("lecturerId") String lecturerId);
+}
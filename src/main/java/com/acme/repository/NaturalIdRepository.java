@@ -0,0 +1,16 @@
+package com.acme.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the entity's @NaturalId. Unlike a JPQL query on the business key, these go through
+ * Hibernate's natural-id cache and then the entity cache, so a repeated lookup costs no SQL.
+ */
+@NoRepositoryBean
+public interface NaturalIdRepository<T, ID> extends JpaRepository<T, ID> {
+
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
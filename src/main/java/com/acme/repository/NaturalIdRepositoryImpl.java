@@ -0,0 +1,28 @@
+package com.acme.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Base class for every Spring Data repository in this package (see JpaConfig).
+ */
+public class NaturalIdRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements NaturalIdRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public NaturalIdRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<T> findBySimpleNaturalId(Object naturalId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(getDomainClass())
+                .loadOptional(naturalId);
+    }
+}
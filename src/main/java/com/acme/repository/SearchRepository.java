@@ -0,0 +1,41 @@
+package com.acme.repository;
+
+import com.acme.config.ExportProperties;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.Consumer;
+
+/**
+ * Full scans of lecturers and students for building the search index. Rows are handed to the
+ * caller as they are read, with the export's fetch size, so nothing is materialized here.
+ * Call them inside a transaction: PostgreSQL ignores the fetch size under auto-commit.
+ */
+@Repository
+public class SearchRepository {
+
+    private static final String LECTURERS_SQL = "SELECT lecturer_id, name, surname FROM lecturers";
+    private static final String STUDENTS_SQL = "SELECT student_id, name, surname FROM students";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchRepository(JdbcTemplate jdbcTemplate, ExportProperties properties) {
+        // A copy, so the fetch size does not leak into every other JdbcTemplate query.
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+    }
+
+    public void forEachLecturer(Consumer<LecturerSummaryDto> action) {
+        jdbcTemplate.query(LECTURERS_SQL, rs -> {
+            action.accept(new LecturerSummaryDto(rs.getString(1), rs.getString(2), rs.getString(3)));
+        });
+    }
+
+    public void forEachStudent(Consumer<StudentSummaryDto> action) {
+        jdbcTemplate.query(STUDENTS_SQL, rs -> {
+            action.accept(new StudentSummaryDto(rs.getString(1), rs.getString(2), rs.getString(3)));
+        });
+    }
+}
@@ -1,20 +1,64 @@
 package com.acme.repository;
 
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.VersionedStudentSummaryDto;
 import com.acme.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
-
-    Optional<Student> findByStudentId(String studentId);
-    
-    @Query("SELECT s FROM Student s WHERE s.studentId = :studentId")
-    @EntityGraph(attributePaths = {"lecturers"})
-    Optional<Student> findStudentWithLecturers(@Param("studentId") String studentId);
-} 
\ No newline at end of file
+public interface StudentRepository extends NaturalIdRepository<Student, Long> {
+
+    /**
+     * Natural-id lookup for the single enrollment write path: answered from the second-level
+     * cache once the student has been loaded.
+     */
+    default Optional<Student> findByStudentId(String studentId) {
+        return findBySimpleNaturalId(studentId);
+    }
+
+    List<Student> findAllByStudentIdIn(Collection<String> studentIds);
+
+    /**
+     * Multi-get: the students and their lecturers in one query. Read-only, so it may run on a
+     * replica; what it loads is kept out of the second-level cache, which a lagging replica
+     * would otherwise refill with the state a write has just evicted.
+     */
+    @EntityGraph(attributePaths = "lecturers")
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"))
+    List<Student> findWithLecturersByStudentIdIn(Collection<String> studentIds);
+
+    /**
+     * Read path: selects the columns and the version straight into the DTO, no managed entity
+     * or snapshot, so the body and its ETag come from one statement.
+     */
+    @Query("SELECT new com.acme.dto.summary.VersionedStudentSummaryDto(s.studentId, s.name, s.surname, s.version) " +
+           "FROM Student s WHERE s.studentId = :studentId")
+    Optional<VersionedStudentSummaryDto> findVersionedSummaryByStudentId(@Param("studentId") String studentId);
+
+    @Query("SELECT s.version FROM Student s WHERE s.studentId = :studentId")
+    Optional<Long> findVersionByStudentId(@Param("studentId") String studentId);
+
+    @Query("SELECT new com.acme.dto.summary.LecturerSummaryDto(l.lecturerId, l.name, l.surname) " +
+           "FROM Student s JOIN s.lecturers l " +
+           "WHERE s.studentId = :studentId " +
+           "ORDER BY l.lecturerId")
+    List<LecturerSummaryDto> findLecturerSummaries(@Param("studentId") String studentId);
+
+    @Query("SELECT l.lecturerId FROM Student s JOIN s.lecturers l " +
+           "WHERE s.studentId = :studentId " +
+           "ORDER BY l.lecturerId")
+    List<String> findLecturerIds(@Param("studentId") String studentId);
+
+    @Query("SELECT COUNT(l) FROM Student s JOIN s.lecturers l WHERE s.studentId = :studentId")
+    long countLecturers(@Param("studentId") String studentId);
+}
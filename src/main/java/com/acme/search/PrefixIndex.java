@@ -0,0 +1,134 @@
+package com.acme.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over a few text fields of each item. Every word of every field is a
+ * term; the terms are kept sorted, so a prefix query is one ordered range scan that stops as
+ * soon as enough items are found. Lock-free: adds and queries may run concurrently.
+ * <p>
+ * Results are not ranked: they come in key order, i.e. by the word that matched the first query
+ * word in lexicographic order, then by id. That order is what lets a query stop after limit hits.
+ * A word equal to the query word sorts before every longer word it starts, so exact matches do
+ * come first; after them "annabel" precedes "annb" whatever the length. Terms are case- and
+ * accent-insensitive.
+ */
+public class PrefixIndex<T> {
+
+    /**
+     * Bounds the work of a multi-word query whose first word is common but whose other words
+     * reject most candidates.
+     */
+    static final int MAX_SCANNED_TERMS = 10_000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record Key(String term, String id) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::term).thenComparing(Key::id);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Shared by all terms of one item; the words let other query words be checked without
+     * re-normalizing the item's fields.
+     */
+    private record Indexed<T>(T item, List<String> words) {
+
+        boolean matchesAll(List<String> prefixes) {
+            for (String prefix : prefixes) {
+                if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Function<T, String> id;
+    private final Function<T, List<String>> fields;
+    private final ConcurrentSkipListMap<Key, Indexed<T>> terms = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param id     unique key of an item; adding an item with the same id again replaces it
+     * @param fields the texts an item can be found by
+     */
+    public PrefixIndex(Function<T, String> id, Function<T, List<String>> fields) {
+        this.id = id;
+        this.fields = fields;
+    }
+
+    public void add(T item) {
+        String itemId = id.apply(item);
+        List<String> itemWords = fields.apply(item).stream()
+                .flatMap(field -> words(field).stream())
+                .distinct()
+                .toList();
+        Indexed<T> indexed = new Indexed<>(item, itemWords);
+        for (String term : itemWords) {
+            terms.put(new Key(term, itemId), indexed);
+        }
+    }
+
+    /**
+     * Items for which every word of the query is a prefix of some word in their fields, in
+     * lexicographic order of the word matching the first query word, then by id. The first query
+     * word drives the range scan; the others filter.
+     */
+    public List<T> search(String query, int limit) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String prefix = queryWords.get(0);
+        List<String> otherWords = queryWords.subList(1, queryWords.size());
+
+        Map<String, T> matches = new LinkedHashMap<>();
+        ConcurrentNavigableMap<Key, Indexed<T>> range = terms.tailMap(new Key(prefix, ""), true);
+        int scanned = 0;
+        for (Map.Entry<Key, Indexed<T>> entry : range.entrySet()) {
+            Key key = entry.getKey();
+            if (!key.term().startsWith(prefix) || ++scanned > MAX_SCANNED_TERMS) {
+                break;
+            }
+            if (!matches.containsKey(key.id()) && entry.getValue().matchesAll(otherWords)) {
+                matches.put(key.id(), entry.getValue().item());
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Lower-cased, accent-free words of text.
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(WORD_SEPARATORS.split(folded))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
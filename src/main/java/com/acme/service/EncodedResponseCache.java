@@ -0,0 +1,99 @@
+package com.acme.service;
+
+import com.acme.config.CacheConfig;
+import com.acme.config.InvalidationTrackingCache;
+import com.acme.datasource.ReplicaRoutingDataSource;
+import com.acme.config.ResponseCacheProperties;
+import com.acme.dto.response.EncodedResponse;
+import com.acme.dto.response.Versioned;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-through cache of fully encoded responses: the default lecturer page and the student view,
+ * serialized once to JSON and to CBOR with the mappers Spring MVC uses (and gzipped when large)
+ * and then served as raw bytes. On a hit neither the response records nor Jackson are involved.
+ * <p>
+ * UniversityService and ImportChunkLoader evict from the same caches when enrollments change.
+ */
+@Service
+public class EncodedResponseCache {
+
+    private final UniversityService universityService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final long gzipMinBytes;
+    private final InvalidationTrackingCache lecturerCache;
+    private final InvalidationTrackingCache studentCache;
+
+    public EncodedResponseCache(UniversityService universityService,
+                                ObjectMapper objectMapper,
+                                MappingJackson2CborHttpMessageConverter cborConverter,
+                                ResponseCacheProperties properties,
+                                CacheManager cacheManager) {
+        this.universityService = universityService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.gzipMinBytes = properties.gzipMinSize().toBytes();
+        this.lecturerCache = CacheConfig.trackingCache(cacheManager, CacheConfig.LECTURERS_CACHE);
+        this.studentCache = CacheConfig.trackingCache(cacheManager, CacheConfig.STUDENTS_CACHE);
+    }
+
+    public Versioned<EncodedResponse> getLecturer(String lecturerId) {
+        return get(lecturerCache, lecturerId, () -> universityService.getLecturerById(lecturerId, null, null));
+    }
+
+    public Versioned<EncodedResponse> getStudent(String studentId) {
+        return get(studentCache, studentId, () -> universityService.getStudentById(studentId));
+    }
+
+    /**
+     * The invalidation count is read before the load, so a write that commits and evicts while the
+     * load runs keeps its (now stale) result out of the cache; the caller still gets it once.
+     */
+    @SuppressWarnings("unchecked")
+    private Versioned<EncodedResponse> get(InvalidationTrackingCache cache, String key, Supplier<Versioned<?>> loader) {
+        Versioned<EncodedResponse> cached = cache.get(key, Versioned.class);
+        if (cached != null) {
+            return cached;
+        }
+        long invalidations = cache.invalidations(key);
+        // From the primary: a lagging replica could hand back the state the last write evicted.
+        Versioned<?> loaded = ReplicaRoutingDataSource.onPrimary(loader);
+        Versioned<EncodedResponse> encoded = new Versioned<>(loaded.version(), encode(loaded.body()));
+        cache.putIfNotInvalidated(key, encoded, invalidations);
+        return encoded;
+    }
+
+    private EncodedResponse encode(Object body) {
+        return new EncodedResponse(encode(objectMapper, body), encode(cborMapper, body));
+    }
+
+    private EncodedResponse.Encoding encode(ObjectMapper mapper, Object body) {
+        try {
+            byte[] bytes = mapper.writeValueAsBytes(body);
+            return new EncodedResponse.Encoding(bytes, bytes.length >= gzipMinBytes ? gzip(bytes) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
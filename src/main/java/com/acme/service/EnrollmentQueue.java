@@ -0,0 +1,203 @@
+package com.acme.service;
+
+import com.acme.config.EnrollmentQueueProperties;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.response.BulkEnrollmentResponse;
+import com.acme.dto.response.EnrollmentResult;
+import com.acme.dto.response.EnrollmentTicket;
+import com.acme.exception.DatabaseBusyException;
+import com.acme.exception.EnrollmentQueueFullException;
+import com.acme.exception.LecturerNotFoundException;
+import com.acme.exception.StudentAlreadyExistsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.acme.exception.ErrorConstants.DATABASE_BUSY_MESSAGE;
+import static com.acme.exception.ErrorConstants.INTERNAL_SERVER_ERROR_MESSAGE;
+import static com.acme.exception.ErrorConstants.formatEnrollmentQueueFull;
+
+/**
+ * Write-behind for single enrollments. Requests wait in a bounded in-memory queue, grouped by
+ * lecturer; a flusher commits each lecturer's group through the bulk enrollment path, so a burst
+ * of N enrollments for one course costs one transaction instead of N. Each request gets a ticket
+ * whose outcome is recorded once its group commits.
+ * <p>
+ * Queued enrollments live only in memory: pending work is flushed on shutdown, but is lost if
+ * the process dies first.
+ */
+@Service
+@ConditionalOnProperty(prefix = "acme.enrollment-queue", name = "enabled", havingValue = "true")
+public class EnrollmentQueue implements DisposableBean {
+
+    private record Pending(String ticketId, CreateStudentRequest request) {}
+
+    private final UniversityService universityService;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long retryAfterSeconds;
+    private final Cache<String, EnrollmentTicket> tickets;
+    private final ScheduledExecutorService flusher;
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Insertion order, so the lecturer that has waited longest is committed first.
+    private Map<String, List<Pending>> pending = new LinkedHashMap<>();
+    private int size;
+
+    public EnrollmentQueue(UniversityService universityService,
+                           EnrollmentQueueProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.universityService = universityService;
+        this.capacity = properties.capacity();
+        this.maxBatchSize = properties.maxBatchSize();
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTickets())
+                .expireAfterWrite(properties.ticketTtl())
+                .build();
+        Gauge.builder("acme.enrollment.queue.size", this, EnrollmentQueue::size)
+                .description("Enrollments waiting to be committed")
+                .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("enrollment-flusher")
+                .daemon(true)
+                .factory());
+        long intervalMillis = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @throws EnrollmentQueueFullException if capacity enrollments are already waiting
+     */
+    public EnrollmentTicket submit(String lecturerId, CreateStudentRequest request) {
+        EnrollmentTicket ticket = EnrollmentTicket.pending(UUID.randomUUID().toString(), lecturerId, request.studentId());
+        queueLock.lock();
+        try {
+            if (size >= capacity) {
+                throw new EnrollmentQueueFullException(formatEnrollmentQueueFull(retryAfterSeconds), retryAfterSeconds);
+            }
+            tickets.put(ticket.ticketId(), ticket);
+            pending.computeIfAbsent(lecturerId, key -> new ArrayList<>()).add(new Pending(ticket.ticketId(), request));
+            size++;
+        } finally {
+            queueLock.unlock();
+        }
+        return ticket;
+    }
+
+    public Optional<EnrollmentTicket> ticket(String ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    public int size() {
+        queueLock.lock();
+        try {
+            return size;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Commits everything queued so far. Called by the flusher; enrollments submitted meanwhile
+     * wait for the next round.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<String, List<Pending>> batch;
+            queueLock.lock();
+            try {
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                size = 0;
+            } finally {
+                queueLock.unlock();
+            }
+            batch.forEach((lecturerId, enrollments) -> {
+                for (int from = 0; from < enrollments.size(); from += maxBatchSize) {
+                    commit(lecturerId, enrollments.subList(from, Math.min(from + maxBatchSize, enrollments.size())));
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Commits one group. Only a failure caused by a row (a constraint violation, a student created
+     * concurrently) is retried in halves, down to the single enrollment that caused it, so one bad
+     * request cannot fail the unrelated ones it was coalesced with. A concurrent create of the same
+     * student usually succeeds on that retry, since the student now exists.
+     * <p>
+     * Anything else fails the whole group in one step: an unknown lecturer with 404, a busy or
+     * unreachable database with 503, and the rest with 500. Splitting those would only run up to
+     * 2N-1 transactions on the flusher thread, each waiting out the connection timeout against a
+     * database that is already struggling.
+     */
+    private void commit(String lecturerId, List<Pending> enrollments) {
+        List<CreateStudentRequest> requests = enrollments.stream().map(Pending::request).toList();
+        try {
+            BulkEnrollmentResponse response = universityService.addStudentsToLecturer(lecturerId, requests);
+            // Bulk results are in request order.
+            for (int i = 0; i < enrollments.size(); i++) {
+                complete(enrollments.get(i), response.results().get(i));
+            }
+        } catch (LecturerNotFoundException e) {
+            fail(enrollments, EnrollmentResult.Status.LECTURER_NOT_FOUND, e.getMessage());
+        } catch (DatabaseBusyException | CannotCreateTransactionException
+                 | DataAccessResourceFailureException | TransientDataAccessException e) {
+            // The bulkhead, the pool or the database itself: the whole group can be retried later.
+            fail(enrollments, EnrollmentResult.Status.UNAVAILABLE, DATABASE_BUSY_MESSAGE);
+        } catch (StudentAlreadyExistsException | DataIntegrityViolationException e) {
+            if (enrollments.size() > 1) {
+                int half = enrollments.size() / 2;
+                commit(lecturerId, enrollments.subList(0, half));
+                commit(lecturerId, enrollments.subList(half, enrollments.size()));
+            } else if (e instanceof StudentAlreadyExistsException) {
+                fail(enrollments, EnrollmentResult.Status.CONFLICT, e.getMessage());
+            } else {
+                fail(enrollments, EnrollmentResult.Status.FAILED, INTERNAL_SERVER_ERROR_MESSAGE);
+            }
+        } catch (RuntimeException e) {
+            fail(enrollments, EnrollmentResult.Status.FAILED, INTERNAL_SERVER_ERROR_MESSAGE);
+        }
+    }
+
+    private void fail(List<Pending> enrollments, EnrollmentResult.Status status, String message) {
+        enrollments.forEach(enrollment -> complete(enrollment,
+                EnrollmentResult.failed(enrollment.request().studentId(), status, message)));
+    }
+
+    private void complete(Pending enrollment, EnrollmentResult result) {
+        tickets.asMap().computeIfPresent(enrollment.ticketId(), (id, ticket) -> ticket.complete(result));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+}
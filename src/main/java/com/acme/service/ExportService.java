@@ -0,0 +1,125 @@
+package com.acme.service;
+
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.repository.ExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes the bulk export as NDJSON: one LecturerResponse- or StudentResponse-shaped object per line,
+ * ordered by natural key. Each line is written while its rows are read, so heap use does not depend
+ * on the export size or on any one roster's size. A broken-off export can be resumed with after set
+ * to the id of the last complete line.
+ */
+@Service
+public class ExportService {
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLecturers(String after, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            LineWriter<LecturerSummaryDto, StudentSummaryDto> writer = new LineWriter<>(generator, "students",
+                    lecturer -> {
+                        generator.writeStringField("lecturerId", lecturer.lecturerId());
+                        generator.writeStringField("name", lecturer.name());
+                        generator.writeStringField("surname", lecturer.surname());
+                    });
+            writeLines(writer, () -> exportRepository.forEachLecturerRow(after, writer));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportStudents(String after, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            LineWriter<StudentSummaryDto, LecturerSummaryDto> writer = new LineWriter<>(generator, "lecturers",
+                    student -> {
+                        generator.writeStringField("studentId", student.studentId());
+                        generator.writeStringField("name", student.name());
+                        generator.writeStringField("surname", student.surname());
+                    });
+            writeLines(writer, () -> exportRepository.forEachStudentRow(after, writer));
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // The servlet container owns the stream; lines are separated explicitly below.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private static void writeLines(LineWriter<?, ?> writer, Runnable rows) throws IOException {
+        try {
+            rows.run();
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; rethrowing ends the query and the transaction.
+            throw e.getCause();
+        }
+        writer.finishLine();
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter<T> {
+        void write(T value) throws IOException;
+    }
+
+    /**
+     * Rows arrive grouped by owner, with one owner instance per group, so a new instance starts
+     * a new line and members are appended to the open array as they come.
+     */
+    private static final class LineWriter<O, M> implements BiConsumer<O, M> {
+
+        private final JsonGenerator generator;
+        private final String membersField;
+        private final FieldWriter<O> ownerFields;
+        private O current;
+
+        LineWriter(JsonGenerator generator, String membersField, FieldWriter<O> ownerFields) {
+            this.generator = generator;
+            this.membersField = membersField;
+            this.ownerFields = ownerFields;
+        }
+
+        @Override
+        public void accept(O owner, M member) {
+            try {
+                if (owner != current) {
+                    finishLine();
+                    current = owner;
+                    generator.writeStartObject();
+                    ownerFields.write(owner);
+                    generator.writeArrayFieldStart(membersField);
+                }
+                if (member != null) {
+                    generator.writeObject(member);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finishLine() throws IOException {
+            if (current != null) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.acme.service;
+
+import com.acme.config.CacheConfig;
+import com.acme.dto.request.ImportRow;
+import com.acme.dto.response.ImportRowError;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.repository.EnrollmentRepository;
+import com.acme.repository.ImportRepository;
+import com.acme.repository.ImportRepository.Enrollment;
+import com.acme.repository.ImportRepository.ExistingRow;
+import com.acme.repository.ImportRepository.NewLecturer;
+import com.acme.repository.ImportRepository.NewStudent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.acme.exception.ErrorConstants.formatLecturerIdConflict;
+import static com.acme.exception.ErrorConstants.formatStudentIdConflict;
+
+/**
+ * Loads one chunk of import rows in one transaction, with the same reuse rules as the API:
+ * an existing lecturer or student is reused when the name matches and is a conflict otherwise,
+ * and an existing enrollment is skipped. Lookups are one IN query per table per chunk.
+ * <p>
+ * Only rows the chunk's own inserts report back count as created; the search index hears of
+ * nothing else. A lecturer or student a concurrent request created first is checked afterwards
+ * like one that already existed, so a different name is a conflict, not a silent enrollment.
+ */
+@Service
+public class ImportChunkLoader {
+
+    public record NumberedRow(long line, ImportRow row) {}
+
+    public record ChunkResult(long enrolled, long skipped, List<ImportRowError> errors) {}
+
+    private final ImportRepository importRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SearchService searchService;
+    private final Cache lecturerCache;
+    private final Cache studentCache;
+
+    public ImportChunkLoader(ImportRepository importRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             SearchService searchService,
+                             CacheManager cacheManager) {
+        this.importRepository = importRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.searchService = searchService;
+        this.lecturerCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.LECTURERS_CACHE));
+        this.studentCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.STUDENTS_CACHE));
+    }
+
+    @Transactional
+    public ChunkResult load(List<NumberedRow> rows) {
+        Set<String> lecturerIds = new HashSet<>();
+        Set<String> studentIds = new HashSet<>();
+        for (NumberedRow numbered : rows) {
+            lecturerIds.add(numbered.row().lecturerId());
+            if (numbered.row().hasStudent()) {
+                studentIds.add(numbered.row().studentId());
+            }
+        }
+        Map<String, ExistingRow> lecturers = importRepository.findLecturers(lecturerIds);
+        Map<String, ExistingRow> students = importRepository.findStudents(studentIds);
+
+        List<ImportRowError> errors = new ArrayList<>();
+        List<NumberedRow> accepted = new ArrayList<>(rows.size());
+        Map<String, NewLecturer> newLecturers = new LinkedHashMap<>();
+        Map<String, NewStudent> newStudents = new LinkedHashMap<>();
+        for (NumberedRow numbered : rows) {
+            ImportRow row = numbered.row();
+            if (!resolveLecturer(row, lecturers, newLecturers)) {
+                errors.add(new ImportRowError(numbered.line(), formatLecturerIdConflict(row.lecturerId())));
+            } else if (row.hasStudent() && !resolveStudent(row, students, newStudents)) {
+                errors.add(new ImportRowError(numbered.line(), formatStudentIdConflict(row.studentId())));
+            } else {
+                accepted.add(numbered);
+            }
+        }
+
+        Map<String, ExistingRow> createdLecturers = importRepository.insertLecturers(new ArrayList<>(newLecturers.values()));
+        Map<String, ExistingRow> createdStudents = importRepository.insertStudents(new ArrayList<>(newStudents.values()));
+        lecturers.putAll(createdLecturers);
+        students.putAll(createdStudents);
+        // On Postgres a concurrent API call may have created some of them first. Those are
+        // existing rows now, reused only if the name matches, like any other.
+        lecturers.putAll(importRepository.findLecturers(notCreated(newLecturers.keySet(), createdLecturers)));
+        students.putAll(importRepository.findStudents(notCreated(newStudents.keySet(), createdStudents)));
+        searchService.lecturersCreated(createdLecturers.entrySet().stream()
+                .map(entry -> new LecturerSummaryDto(entry.getKey(), entry.getValue().name(), entry.getValue().surname()))
+                .toList());
+        searchService.studentsCreated(createdStudents.entrySet().stream()
+                .map(entry -> new StudentSummaryDto(entry.getKey(), entry.getValue().name(), entry.getValue().surname()))
+                .toList());
+
+        Set<Enrollment> enrollments = new LinkedHashSet<>();
+        long enrollmentRows = 0;
+        for (NumberedRow numbered : accepted) {
+            ImportRow row = numbered.row();
+            ExistingRow lecturer = lecturers.get(row.lecturerId());
+            if (!matches(lecturer, row.lecturerName(), row.lecturerSurname())) {
+                errors.add(new ImportRowError(numbered.line(), formatLecturerIdConflict(row.lecturerId())));
+            } else if (row.hasStudent()) {
+                ExistingRow student = students.get(row.studentId());
+                if (!matches(student, row.studentName(), row.studentSurname())) {
+                    errors.add(new ImportRowError(numbered.line(), formatStudentIdConflict(row.studentId())));
+                } else {
+                    enrollmentRows++;
+                    enrollments.add(new Enrollment(lecturer.id(), student.id()));
+                }
+            }
+        }
+        errors.sort(Comparator.comparingLong(ImportRowError::line));
+        List<Enrollment> inserted = importRepository.insertEnrollmentsIfAbsent(new ArrayList<>(enrollments));
+        bumpVersionsAndEvict(inserted, lecturers, students);
+
+        return new ChunkResult(inserted.size(), enrollmentRows - inserted.size(), errors);
+    }
+
+    private static Set<String> notCreated(Set<String> keys, Map<String, ExistingRow> created) {
+        Set<String> lost = new HashSet<>(keys);
+        lost.removeAll(created.keySet());
+        return lost;
+    }
+
+    private static boolean matches(ExistingRow row, String name, String surname) {
+        return row != null && row.name().equals(name) && row.surname().equals(surname);
+    }
+
+    private static boolean resolveLecturer(ImportRow row, Map<String, ExistingRow> existing,
+                                           Map<String, NewLecturer> created) {
+        ExistingRow lecturer = existing.get(row.lecturerId());
+        if (lecturer != null) {
+            return matches(lecturer, row.lecturerName(), row.lecturerSurname());
+        }
+        NewLecturer first = created.computeIfAbsent(row.lecturerId(),
+                id -> new NewLecturer(id, row.lecturerName(), row.lecturerSurname()));
+        return first.name().equals(row.lecturerName()) && first.surname().equals(row.lecturerSurname());
+    }
+
+    private boolean resolveStudent(ImportRow row, Map<String, ExistingRow> existing,
+                                   Map<String, NewStudent> created) {
+        ExistingRow student = existing.get(row.studentId());
+        if (student != null) {
+            return matches(student, row.studentName(), row.studentSurname());
+        }
+        NewStudent first = created.computeIfAbsent(row.studentId(),
+                id -> new NewStudent(importRepository.nextStudentId(), id, row.studentName(), row.studentSurname()));
+        return first.name().equals(row.studentName()) && first.surname().equals(row.studentSurname());
+    }
+
+    private void bumpVersionsAndEvict(List<Enrollment> inserted, Map<String, ExistingRow> lecturers,
+                                      Map<String, ExistingRow> students) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        Set<Long> lecturerDbIds = new HashSet<>();
+        Set<Long> studentDbIds = new HashSet<>();
+        inserted.forEach(enrollment -> {
+            lecturerDbIds.add(enrollment.lecturerDbId());
+            studentDbIds.add(enrollment.studentDbId());
+        });
+        enrollmentRepository.markChanged(lecturerDbIds, studentDbIds);
+
+        // The caches defer these until commit.
+        naturalKeys(lecturers, lecturerDbIds).forEach(lecturerCache::evict);
+        naturalKeys(students, studentDbIds).forEach(studentCache::evict);
+    }
+
+    private static List<String> naturalKeys(Map<String, ExistingRow> rows, Set<Long> dbIds) {
+        Map<Long, String> byId = new HashMap<>();
+        rows.forEach((key, row) -> byId.put(row.id(), key));
+        return dbIds.stream().map(byId::get).toList();
+    }
+}
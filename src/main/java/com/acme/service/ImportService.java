@@ -0,0 +1,176 @@
+package com.acme.service;
+
+import com.acme.config.ImportProperties;
+import com.acme.dto.request.ImportRow;
+import com.acme.dto.response.ImportProgress;
+import com.acme.dto.response.ImportRowError;
+import com.acme.service.ImportChunkLoader.ChunkResult;
+import com.acme.service.ImportChunkLoader.NumberedRow;
+import com.acme.validation.ImportRowValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.acme.exception.ErrorConstants.formatImportChunkFailed;
+import static com.acme.exception.ErrorConstants.formatImportCsvHeader;
+import static com.acme.exception.ErrorConstants.formatImportMalformedRow;
+
+/**
+ * Streams an enrollment import from CSV or NDJSON. Lines are parsed and validated one at a time,
+ * loaded acme.import.chunk-size rows per transaction, and reported back as NDJSON while the upload is still
+ * being read: one ImportRowError per rejected line, one ImportProgress per chunk, then a summary.
+ * A failed chunk is rolled back and reported; the rows of other chunks stay loaded.
+ */
+@Service
+public class ImportService {
+
+    private static final int CSV_COLUMNS = 6;
+    private static final int CSV_LECTURER_ONLY_COLUMNS = 3;
+
+    private final ImportChunkLoader chunkLoader;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final int chunkSize;
+
+    public ImportService(ImportChunkLoader chunkLoader, ObjectMapper objectMapper, ImportProperties properties) {
+        this.chunkLoader = chunkLoader;
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(ImportRow.class);
+        this.chunkSize = properties.chunkSize();
+    }
+
+    public void importEnrollments(InputStream in, boolean csv, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Run run = new Run(generator);
+
+            long lineNumber = 0;
+            if (csv) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null || !ImportRow.CSV_HEADER.equals(header.strip())) {
+                    run.reject(lineNumber, formatImportCsvHeader(ImportRow.CSV_HEADER));
+                    run.finish();
+                    return;
+                }
+            }
+
+            List<NumberedRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.rows++;
+                ImportRow row;
+                try {
+                    row = csv ? parseCsv(line) : rowReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    run.reject(lineNumber, formatImportMalformedRow(e.getOriginalMessage()));
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNumber, formatImportMalformedRow(e.getMessage()));
+                    continue;
+                }
+                String violation = ImportRowValidator.validate(row);
+                if (violation != null) {
+                    run.reject(lineNumber, violation);
+                    continue;
+                }
+                chunk.add(new NumberedRow(lineNumber, row));
+                if (chunk.size() == chunkSize) {
+                    run.load(chunk);
+                    chunk.clear();
+                }
+            }
+            run.load(chunk);
+            run.finish();
+        }
+    }
+
+    private static ImportRow parseCsv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length == CSV_LECTURER_ONLY_COLUMNS) {
+            return new ImportRow(columns[0], columns[1], columns[2], null, null, null);
+        }
+        if (columns.length != CSV_COLUMNS) {
+            throw new IllegalArgumentException("expected " + CSV_COLUMNS + " columns but found " + columns.length);
+        }
+        return new ImportRow(columns[0], columns[1], columns[2], columns[3], columns[4], columns[5]);
+    }
+
+    /**
+     * Counters and output of one import request.
+     */
+    private final class Run {
+
+        private final JsonGenerator generator;
+        private final long startNanos = System.nanoTime();
+        private long rows;
+        private long enrolled;
+        private long skipped;
+        private long failed;
+
+        Run(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void reject(long line, String message) throws IOException {
+            failed++;
+            writeLine(new ImportRowError(line, message));
+        }
+
+        void load(List<NumberedRow> chunk) throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                ChunkResult result = chunkLoader.load(chunk);
+                enrolled += result.enrolled();
+                skipped += result.skipped();
+                for (ImportRowError error : result.errors()) {
+                    failed++;
+                    writeLine(error);
+                }
+            } catch (DataAccessException e) {
+                for (NumberedRow row : chunk) {
+                    reject(row.line(), formatImportChunkFailed("its chunk was rolled back"));
+                }
+            }
+            writeLine(progress(false));
+            // Push the chunk's report to the client now rather than when the buffer fills.
+            generator.flush();
+        }
+
+        void finish() throws IOException {
+            writeLine(progress(true));
+            generator.flush();
+        }
+
+        private ImportProgress progress(boolean done) {
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            return new ImportProgress(rows, enrolled, skipped, failed, elapsedMillis,
+                    rows * 1000 / elapsedMillis, done);
+        }
+
+        private void writeLine(Object event) throws IOException {
+            generator.writeObject(event);
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.acme.service;
+
+import com.acme.config.SearchProperties;
+import com.acme.datasource.ReplicaRoutingDataSource;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.repository.SearchRepository;
+import com.acme.search.PrefixIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Prefix search over lecturers and students by name, surname and id, answered from memory.
+ * The indexes are loaded from the database once the application is ready and then kept up to
+ * date by the write paths, which hand over every lecturer or student they create. Additions
+ * are applied after commit, so a rolled-back insert never becomes searchable.
+ * <p>
+ * Rows written behind the application's back (e.g. directly in SQL) are only picked up on restart.
+ */
+@Service
+@Timed(value = "acme.service", histogram = true)
+public class SearchService {
+
+    private final SearchRepository searchRepository;
+    private final SearchProperties searchProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PrefixIndex<LecturerSummaryDto> lecturers = new PrefixIndex<>(
+            LecturerSummaryDto::lecturerId,
+            lecturer -> List.of(lecturer.lecturerId(), lecturer.name(), lecturer.surname()));
+    private final PrefixIndex<StudentSummaryDto> students = new PrefixIndex<>(
+            StudentSummaryDto::studentId,
+            student -> List.of(student.studentId(), student.name(), student.surname()));
+
+    public SearchService(SearchRepository searchRepository, SearchProperties searchProperties,
+                         PlatformTransactionManager transactionManager) {
+        this.searchRepository = searchRepository;
+        this.searchProperties = searchProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Requests served while this runs see a partial index. Entities created meanwhile are
+     * indexed by their write path as well; adding one twice is harmless.
+     * <p>
+     * Event listeners run outside any transaction, so the scans get an explicit read-only one:
+     * the PostgreSQL driver only streams by the fetch size with auto-commit off, and would
+     * otherwise read each table into memory in one go. The index is shared state, so it is
+     * read from the primary, never from a lagging replica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            searchRepository.forEachLecturer(lecturers::add);
+            searchRepository.forEachStudent(students::add);
+            return null;
+        }));
+    }
+
+    public List<LecturerSummaryDto> searchLecturers(String query, Integer limit) {
+        return lecturers.search(query, resolveLimit(limit));
+    }
+
+    public List<StudentSummaryDto> searchStudents(String query, Integer limit) {
+        return students.search(query, resolveLimit(limit));
+    }
+
+    public void lecturersCreated(Collection<LecturerSummaryDto> created) {
+        List<LecturerSummaryDto> added = List.copyOf(created);
+        afterCommit(() -> added.forEach(lecturers::add));
+    }
+
+    public void studentsCreated(Collection<StudentSummaryDto> created) {
+        List<StudentSummaryDto> added = List.copyOf(created);
+        afterCommit(() -> added.forEach(students::add));
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return searchProperties.defaultLimit();
+        }
+        return Math.min(limit, searchProperties.maxLimit());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
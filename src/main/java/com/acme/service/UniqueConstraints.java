@@ -0,0 +1,27 @@
+package com.acme.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Recognizes which unique constraint an insert violated, so a create can go straight to the
+ * insert and still answer a duplicate with its 409 rather than the generic 500.
+ * Databases report the name differently (PostgreSQL: uk_lecturer_id, H2: the backing index,
+ * PUBLIC.UK_LECTURER_ID_INDEX_8), so the match is on the name anywhere in what was reported.
+ */
+final class UniqueConstraints {
+
+    private UniqueConstraints() {}
+
+    static boolean isViolation(DataIntegrityViolationException exception, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(name);
+            }
+        }
+        return false;
+    }
+}
@@ -1,111 +1,446 @@
 package com.acme.service;
 
+import com.acme.config.BatchGetProperties;
+import com.acme.config.CacheConfig;
+import com.acme.config.RosterProperties;
 import com.acme.dto.request.CreateLecturerRequest;
 import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.request.ResponseShape;
+import com.acme.dto.response.BatchGetResponse;
+import com.acme.dto.response.BulkEnrollmentResponse;
+import com.acme.dto.response.EnrollmentResult;
 import com.acme.dto.response.LecturerResponse;
 import com.acme.dto.response.StudentResponse;
+import com.acme.dto.response.Versioned;
+import com.acme.dto.summary.LecturerStudentCountDto;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.dto.summary.VersionedLecturerSummaryDto;
+import com.acme.dto.summary.VersionedStudentSummaryDto;
 import com.acme.entity.Lecturer;
 import com.acme.entity.Student;
+import com.acme.exception.BatchTooLargeException;
 import com.acme.exception.LecturerAlreadyExistsException;
 import com.acme.exception.LecturerNotFoundException;
 import com.acme.exception.StudentAlreadyExistsException;
 import com.acme.exception.StudentNotFoundException;
+import com.acme.repository.EnrollmentRepository;
 import com.acme.repository.LecturerRepository;
 import com.acme.repository.StudentRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import static com.acme.exception.ErrorConstants.*;
 
 
 @Service
 @Transactional(readOnly = true)
+@Timed(value = "acme.service", histogram = true)
 public class UniversityService {
 
     private final LecturerRepository lecturerRepository;
     private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final RosterProperties rosterProperties;
+    private final BatchGetProperties batchGetProperties;
+    private final SearchService searchService;
+    private final Cache lecturerCache;
+    private final Cache studentCache;
 
     public UniversityService(LecturerRepository lecturerRepository, 
-                           StudentRepository studentRepository) {
+                           StudentRepository studentRepository,
+                           EnrollmentRepository enrollmentRepository,
+                           RosterProperties rosterProperties,
+                           BatchGetProperties batchGetProperties,
+                           SearchService searchService,
+                           CacheManager cacheManager) {
         this.lecturerRepository = lecturerRepository;
         this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.rosterProperties = rosterProperties;
+        this.batchGetProperties = batchGetProperties;
+        this.searchService = searchService;
+        this.lecturerCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.LECTURERS_CACHE));
+        this.studentCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.STUDENTS_CACHE));
     }
 
 
+    /**
+     * A single round trip: no existence check, just the insert (IDENTITY ids, so save runs it
+     * immediately). A duplicate lecturerId, including one a concurrent request has just inserted,
+     * is caught by uk_lecturer_id and answered with the same 409 the check used to produce.
+     */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.LECTURERS_CACHE, key = "#request.lecturerId()")
     public LecturerResponse createLecturer(CreateLecturerRequest request) {
-        if (lecturerRepository.existsByLecturerId(request.lecturerId())) {
+        Lecturer lecturer;
+        try {
+            lecturer = lecturerRepository.save(
+                    new Lecturer(request.name(), request.surname(), request.lecturerId()));
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolation(e, Lecturer.LECTURER_ID_CONSTRAINT)) {
+                throw e;
+            }
             throw new LecturerAlreadyExistsException(
                     formatLecturerAlreadyExists(request.lecturerId())
             );
         }
+        searchService.lecturersCreated(List.of(LecturerSummaryDto.from(lecturer)));
+        return LecturerResponse.from(lecturer);
+    }
+
+    /**
+     * Returns one roster page ordered by studentId. The lecturer row and the page are read
+     * separately so that only limit + 1 students are ever loaded, however large the course.
+     * Both are DTO projections: nothing enters the persistence context.
+     * The default first page is cached, encoded, by EncodedResponseCache; explicit limit/after
+     * requests always hit the database.
+     * The version comes with the lecturer row; REPEATABLE_READ makes the roster page come from
+     * the same snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<LecturerResponse> getLecturerById(String lecturerId, String after, Integer limit) {
+        return getLecturerById(lecturerId, after, limit, ResponseShape.FULL);
+    }
+
+    /**
+     * As above, but reads only what the shape asks for: no lecturer row when none of its
+     * columns are wanted, student ids instead of summaries for IDS, a COUNT for COUNT, and
+     * nothing from the join table when students are left out.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<LecturerResponse> getLecturerById(String lecturerId, String after, Integer limit,
+                                                       ResponseShape shape) {
+        // The row is read once: with its columns when the shape wants any, otherwise just the version.
+        long version;
+        LecturerSummaryDto lecturer = null;
+        if (shape.includes("lecturerId") || shape.includes("name") || shape.includes("surname")) {
+            VersionedLecturerSummaryDto row = lecturerRepository.findVersionedSummaryByLecturerId(lecturerId)
+                    .orElseThrow(() -> new LecturerNotFoundException(formatLecturerNotFound(lecturerId)));
+            version = row.version();
+            lecturer = row.summary();
+        } else {
+            version = lecturerRepository.findVersionByLecturerId(lecturerId)
+                    .orElseThrow(() -> new LecturerNotFoundException(formatLecturerNotFound(lecturerId)));
+        }
 
-        Lecturer lecturer = new Lecturer(request.name(), request.surname(), request.lecturerId());
-        return LecturerResponse.from(lecturerRepository.save(lecturer));
+        RosterPage<StudentSummaryDto> students = null;
+        RosterPage<String> studentIds = null;
+        Long studentCount = null;
+        if (shape.includes("students")) {
+            int pageSize = resolvePageSize(limit);
+            // One extra row tells us whether another page exists without a COUNT query.
+            Limit fetchLimit = Limit.of(pageSize + 1);
+            switch (shape.collectionView()) {
+                case FULL -> students = RosterPage.of(after == null
+                        ? lecturerRepository.findRosterPage(lecturerId, fetchLimit)
+                        : lecturerRepository.findRosterPageAfter(lecturerId, after, fetchLimit),
+                        pageSize, StudentSummaryDto::studentId);
+                case IDS -> studentIds = RosterPage.of(after == null
+                        ? lecturerRepository.findRosterIdPage(lecturerId, fetchLimit)
+                        : lecturerRepository.findRosterIdPageAfter(lecturerId, after, fetchLimit),
+                        pageSize, Function.identity());
+                case COUNT -> studentCount = lecturerRepository.countStudents(lecturerId);
+            }
+        }
+
+        String nextCursor = students != null ? students.nextCursor()
+                : studentIds != null ? studentIds.nextCursor() : null;
+        return new Versioned<>(version, new LecturerResponse(
+                shape.includes("lecturerId") ? lecturer.lecturerId() : null,
+                shape.includes("name") ? lecturer.name() : null,
+                shape.includes("surname") ? lecturer.surname() : null,
+                students == null ? null : students.items(),
+                studentIds == null ? null : studentIds.items(),
+                studentCount,
+                nextCursor));
+    }
+
+    private record RosterPage<T>(List<T> items, String nextCursor) {
+
+        /**
+         * @param fetched up to pageSize + 1 rows; the extra row only signals that there are more
+         */
+        static <T> RosterPage<T> of(List<T> fetched, int pageSize, Function<T, String> cursor) {
+            if (fetched.size() <= pageSize) {
+                return new RosterPage<>(fetched, null);
+            }
+            List<T> page = List.copyOf(fetched.subList(0, pageSize));
+            return new RosterPage<>(page, cursor.apply(page.get(pageSize - 1)));
+        }
     }
 
-    public LecturerResponse getLecturerById(String lecturerId) {
-        Lecturer lecturer = lecturerRepository.findLecturerWithStudents(lecturerId)
+    /**
+     * Version only, for If-None-Match checks: answered from the response cache when possible,
+     * otherwise by a single-column lookup. No roster rows are read.
+     */
+    public long getLecturerVersion(String lecturerId) {
+        Versioned<?> cached = lecturerCache.get(lecturerId, Versioned.class);
+        if (cached != null) {
+            return cached.version();
+        }
+        return lecturerRepository.findVersionByLecturerId(lecturerId)
                 .orElseThrow(() -> new LecturerNotFoundException(formatLecturerNotFound(lecturerId)));
-        
-        return LecturerResponse.from(lecturer);
     }
 
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return rosterProperties.defaultPageSize();
+        }
+        return Math.min(limit, rosterProperties.maxPageSize());
+    }
+
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<StudentResponse> getStudentById(String studentId) {
+        return getStudentById(studentId, ResponseShape.FULL);
+    }
+
+    /**
+     * Reads only what the shape asks for, like the lecturer variant.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<StudentResponse> getStudentById(String studentId, ResponseShape shape) {
+        long version;
+        StudentSummaryDto student = null;
+        if (shape.includes("studentId") || shape.includes("name") || shape.includes("surname")) {
+            VersionedStudentSummaryDto row = studentRepository.findVersionedSummaryByStudentId(studentId)
+                    .orElseThrow(() -> new StudentNotFoundException(formatStudentNotFound(studentId)));
+            version = row.version();
+            student = row.summary();
+        } else {
+            version = studentRepository.findVersionByStudentId(studentId)
+                    .orElseThrow(() -> new StudentNotFoundException(formatStudentNotFound(studentId)));
+        }
+
+        List<LecturerSummaryDto> lecturers = null;
+        List<String> lecturerIds = null;
+        Long lecturerCount = null;
+        if (shape.includes("lecturers")) {
+            switch (shape.collectionView()) {
+                case FULL -> lecturers = studentRepository.findLecturerSummaries(studentId);
+                case IDS -> lecturerIds = studentRepository.findLecturerIds(studentId);
+                case COUNT -> lecturerCount = studentRepository.countLecturers(studentId);
+            }
+        }
+
+        return new Versioned<>(version, new StudentResponse(
+                shape.includes("studentId") ? student.studentId() : null,
+                shape.includes("name") ? student.name() : null,
+                shape.includes("surname") ? student.surname() : null,
+                lecturers,
+                lecturerIds,
+                lecturerCount));
+    }
+
+    /**
+     * Students in the order their ids were requested, each with their lecturers ordered by
+     * lecturerId, read with a single IN query.
+     */
+    public BatchGetResponse<StudentResponse> getStudentsByIds(Collection<String> studentIds) {
+        Set<String> ids = distinctIds(studentIds);
+        Map<String, StudentResponse> found = new HashMap<>();
+        for (Student student : studentRepository.findWithLecturersByStudentIdIn(ids)) {
+            List<LecturerSummaryDto> lecturers = student.getLecturers().stream()
+                    .map(LecturerSummaryDto::from)
+                    .sorted(Comparator.comparing(LecturerSummaryDto::lecturerId))
+                    .toList();
+            found.put(student.getStudentId(),
+                    StudentResponse.from(StudentSummaryDto.from(student), lecturers));
+        }
+        return inRequestOrder(ids, found);
+    }
+
+    /**
+     * Lecturers in the order their ids were requested, each with studentCount instead of the
+     * roster, read with a single grouped IN query.
+     */
+    public BatchGetResponse<LecturerResponse> getLecturersByIds(Collection<String> lecturerIds) {
+        Set<String> ids = distinctIds(lecturerIds);
+        Map<String, LecturerResponse> found = new HashMap<>();
+        for (LecturerStudentCountDto lecturer : lecturerRepository.findStudentCounts(ids)) {
+            found.put(lecturer.lecturerId(), new LecturerResponse(lecturer.lecturerId(), lecturer.name(),
+                    lecturer.surname(), null, null, lecturer.studentCount(), null));
+        }
+        return inRequestOrder(ids, found);
+    }
+
+    private Set<String> distinctIds(Collection<String> requested) {
+        Set<String> ids = new LinkedHashSet<>(requested);
+        if (ids.size() > batchGetProperties.maxIds()) {
+            throw new BatchTooLargeException(formatBatchTooLarge(batchGetProperties.maxIds(), ids.size()));
+        }
+        return ids;
+    }
+
+    private static <T> BatchGetResponse<T> inRequestOrder(Set<String> ids, Map<String, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                notFound.add(id);
+            }
+        }
+        return new BatchGetResponse<>(items, notFound);
+    }
 
-    public StudentResponse getStudentById(String studentId) {
-        Student student = studentRepository.findStudentWithLecturers(studentId)
+    public long getStudentVersion(String studentId) {
+        Versioned<?> cached = studentCache.get(studentId, Versioned.class);
+        if (cached != null) {
+            return cached.version();
+        }
+        return studentRepository.findVersionByStudentId(studentId)
                 .orElseThrow(() -> new StudentNotFoundException(formatStudentNotFound(studentId)));
-        
-        return StudentResponse.from(student);
     }
 
 
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.LECTURERS_CACHE, key = "#lecturerId"),
+        @CacheEvict(cacheNames = CacheConfig.STUDENTS_CACHE, key = "#request.studentId()")
+    })
     public StudentResponse addStudentToLecturer(String lecturerId, CreateStudentRequest request) {
-        //  Fetch the lecturer and their students in one go.
-        Lecturer lecturer = lecturerRepository.findLecturerWithStudents(lecturerId)
+        // Plain row loads: neither roster is initialized, so the cost is independent of course size.
+        Lecturer lecturer = lecturerRepository.findByLecturerId(lecturerId)
                 .orElseThrow(() -> new LecturerNotFoundException(formatLecturerNotFound(lecturerId)));
 
-        //Avoid lazy loading.
-        Student existingStudent = studentRepository.findStudentWithLecturers(request.studentId())
-                .orElse(null);
-
-        if (existingStudent != null) {
-            validateStudentData(existingStudent, request);
-            checkAssignmentConflict(existingStudent, lecturer, request.studentId());
-            return assignExistingStudent(lecturer, existingStudent);
+        Student student = studentRepository.findByStudentId(request.studentId()).orElse(null);
+        if (student != null) {
+            validateStudentData(student, request);
         } else {
-            return createAndAssignNewStudent(lecturer, request);
+            try {
+                // Flushed so the JDBC insert below can reference the new row.
+                student = studentRepository.saveAndFlush(
+                        new Student(request.name(), request.surname(), request.studentId()));
+            } catch (DataIntegrityViolationException e) {
+                // Another request created the same student after our lookup.
+                throw studentCreatedConcurrently(e, formatStudentCreatedConcurrently(request.studentId()));
+            }
+            searchService.studentsCreated(List.of(StudentSummaryDto.from(student)));
         }
-    }
 
-    private void validateStudentData(Student existingStudent, CreateStudentRequest request) {
-        if (!existingStudent.getName().equals(request.name()) || 
-            !existingStudent.getSurname().equals(request.surname())) {
+        if (!enrollmentRepository.insertEnrollmentIfAbsent(lecturer.getId(), student.getId())) {
             throw new StudentAlreadyExistsException(
-                    formatStudentIdConflict(request.studentId())
+                    formatStudentAlreadyAssigned(request.studentId())
             );
         }
+        enrollmentRepository.markChanged(List.of(lecturer.getId()), List.of(student.getId()));
+
+        return StudentResponse.from(StudentSummaryDto.from(student),
+                studentRepository.findLecturerSummaries(request.studentId()));
     }
 
-    private void checkAssignmentConflict(Student student, Lecturer lecturer, String studentId) {
-        // No extra query needed.
-        if (student.getLecturers().contains(lecturer)) {
-            throw new StudentAlreadyExistsException(
-                    formatStudentAlreadyAssigned(studentId)
-            );
+    /**
+     * Enrolls many students in one transaction. Existing students are resolved with a single
+     * IN query, new students are inserted in JDBC batches (sequence ids) and the join rows are
+     * batched as well. Each entry gets the outcome the single-student endpoint would have produced.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.LECTURERS_CACHE, key = "#lecturerId")
+    public BulkEnrollmentResponse addStudentsToLecturer(String lecturerId, List<CreateStudentRequest> requests) {
+        Lecturer lecturer = lecturerRepository.findByLecturerId(lecturerId)
+                .orElseThrow(() -> new LecturerNotFoundException(formatLecturerNotFound(lecturerId)));
+
+        Set<String> studentIds = requests.stream()
+                .map(CreateStudentRequest::studentId)
+                .collect(Collectors.toSet());
+        Map<String, Student> students = new HashMap<>();
+        studentRepository.findAllByStudentIdIn(studentIds)
+                .forEach(student -> students.put(student.getStudentId(), student));
+        Set<String> enrolled = students.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(lecturerRepository.findEnrolledStudentIds(lecturer.getId(), students.keySet()));
+
+        List<EnrollmentResult> results = new ArrayList<>(requests.size());
+        List<Student> newStudents = new ArrayList<>();
+        List<Student> toEnroll = new ArrayList<>();
+        for (CreateStudentRequest request : requests) {
+            String studentId = request.studentId();
+            Student student = students.get(studentId);
+            if (student == null) {
+                student = new Student(request.name(), request.surname(), studentId);
+                students.put(studentId, student);
+                newStudents.add(student);
+                toEnroll.add(student);
+                enrolled.add(studentId);
+                results.add(EnrollmentResult.of(studentId, EnrollmentResult.Status.CREATED));
+            } else if (!hasSameName(student, request)) {
+                results.add(EnrollmentResult.failed(studentId, EnrollmentResult.Status.CONFLICT,
+                        formatStudentIdConflict(studentId)));
+            } else if (!enrolled.add(studentId)) {
+                results.add(EnrollmentResult.failed(studentId, EnrollmentResult.Status.ALREADY_ASSIGNED,
+                        formatStudentAlreadyAssigned(studentId)));
+            } else {
+                toEnroll.add(student);
+                results.add(EnrollmentResult.of(studentId, EnrollmentResult.Status.ENROLLED));
+            }
+        }
+
+        // Students must be in the table before the join rows reference them.
+        try {
+            studentRepository.saveAll(newStudents);
+            studentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw studentCreatedConcurrently(e, STUDENTS_CREATED_CONCURRENTLY_MESSAGE);
+        }
+        searchService.studentsCreated(newStudents.stream().map(StudentSummaryDto::from).toList());
+        List<Long> enrolledIds = toEnroll.stream().map(Student::getId).toList();
+        enrollmentRepository.insertEnrollments(lecturer.getId(), enrolledIds);
+        if (!enrolledIds.isEmpty()) {
+            enrollmentRepository.markChanged(List.of(lecturer.getId()), enrolledIds);
+        }
+        // Only students whose lecturer list changed; the cache defers this until commit.
+        toEnroll.forEach(student -> studentCache.evict(student.getStudentId()));
+
+        return new BulkEnrollmentResponse(lecturerId, results);
+    }
+
+    /**
+     * The lookup that decides between reusing and creating a student cannot see a row another
+     * transaction has not committed yet; uk_student_id turns that race into a 409 instead of a 500.
+     * The transaction is rolled back either way, so a retry sees the student and reuses it.
+     */
+    private static RuntimeException studentCreatedConcurrently(DataIntegrityViolationException e, String message) {
+        if (!UniqueConstraints.isViolation(e, Student.STUDENT_ID_CONSTRAINT)) {
+            return e;
         }
+        return new StudentAlreadyExistsException(message);
     }
 
-    private StudentResponse assignExistingStudent(Lecturer lecturer, Student student) {
-        lecturer.addStudent(student);
-        return StudentResponse.from(student);
+    private void validateStudentData(Student existingStudent, CreateStudentRequest request) {
+        if (!hasSameName(existingStudent, request)) {
+            throw new StudentAlreadyExistsException(
+                    formatStudentIdConflict(request.studentId())
+            );
+        }
     }
 
-    private StudentResponse createAndAssignNewStudent(Lecturer lecturer, CreateStudentRequest request) {
-        Student student = new Student(request.name(), request.surname(), request.studentId());
-        student = studentRepository.save(student);
-        lecturer.addStudent(student);
-        return StudentResponse.from(student);
+    private boolean hasSameName(Student student, CreateStudentRequest request) {
+        return student.getName().equals(request.name())
+                && student.getSurname().equals(request.surname());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.acme.validation;
+
+import com.acme.dto.request.ImportRow;
+
+import java.util.regex.Pattern;
+
+/**
+ * The CreateLecturerRequest/CreateStudentRequest rules, checked directly for import rows.
+ * Running Bean Validation per row would build a constraint context for every line of the file.
+ */
+public final class ImportRowValidator {
+
+    private static final Pattern ALPHANUMERIC = Pattern.compile(ValidationConstants.ALPHANUMERIC_PATTERN);
+
+    private ImportRowValidator() {
+    }
+
+    /**
+     * @return the first violation, or null if the row is valid
+     */
+    public static String validate(ImportRow row) {
+        String error = check("Lecturer ID", row.lecturerId());
+        if (error == null) {
+            error = check("Lecturer name", row.lecturerName());
+        }
+        if (error == null) {
+            error = check("Lecturer surname", row.lecturerSurname());
+        }
+        if (error == null && row.hasStudent()) {
+            error = check("Student ID", row.studentId());
+            if (error == null) {
+                error = check("Student name", row.studentName());
+            }
+            if (error == null) {
+                error = check("Student surname", row.studentSurname());
+            }
+        }
+        return error;
+    }
+
+    private static String check(String field, String value) {
+        if (value == null || value.isBlank()) {
+            return field + " " + ValidationConstants.NOT_BLANK_MESSAGE;
+        }
+        if (!ALPHANUMERIC.matcher(value).matches()) {
+            return field + " " + ValidationConstants.ALPHANUMERIC_MESSAGE;
+        }
+        return null;
+    }
+}
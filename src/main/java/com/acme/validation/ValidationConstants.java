@@ -12,4 +12,21 @@ public final class ValidationConstants {
 
     public static final String LECTURER_ID_MESSAGE = "Lecturer ID " + NOT_BLANK_MESSAGE;
     public static final String STUDENT_ID_MESSAGE = "Student ID " + NOT_BLANK_MESSAGE;
+    public static final String SEARCH_QUERY_MESSAGE = "Search query " + NOT_BLANK_MESSAGE;
+    public static final String BATCH_GET_IDS_MESSAGE = "Ids must be a non-empty list of ids that are not blank";
+
+    public static final String LECTURER_FIELDS_PATTERN =
+            "^(lecturerId|name|surname|students)(,(lecturerId|name|surname|students))*$";
+    public static final String LECTURER_FIELDS_MESSAGE =
+            "Fields must be a comma-separated list of lecturerId, name, surname, students";
+    public static final String STUDENT_FIELDS_PATTERN =
+            "^(studentId|name|surname|lecturers)(,(studentId|name|surname|lecturers))*$";
+    public static final String STUDENT_FIELDS_MESSAGE =
+            "Fields must be a comma-separated list of studentId, name, surname, lecturers";
+    public static final String COLLECTION_VIEW_PATTERN = "^(full|ids|count)$";
+    public static final String COLLECTION_VIEW_MESSAGE = "View must be one of full, ids, count";
+
+    public static final int MAX_BULK_ENROLLMENT_SIZE = 1000;
+    public static final String BULK_ENROLLMENT_SIZE_MESSAGE =
+            "Students must contain between 1 and " + MAX_BULK_ENROLLMENT_SIZE + " entries";
 }
\ No newline at end of file
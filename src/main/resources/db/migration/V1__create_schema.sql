@@ -0,0 +1,35 @@
+-- Runs unchanged on Postgres (prod) and H2 (dev, tests). Hibernate only validates against it.
+
+-- Pooled optimizer: the increment must match Student's allocationSize.
+CREATE SEQUENCE student_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE lecturers (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lecturer_id VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    surname     VARCHAR(255) NOT NULL,
+    version     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_lecturer_id UNIQUE (lecturer_id)
+);
+
+CREATE TABLE students (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    student_id VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    surname    VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_student_id UNIQUE (student_id)
+);
+
+-- The primary key serves the lecturer side (roster pages, insert-if-absent probes) and makes
+-- a duplicate enrollment impossible. The reverse index serves the student side (lecturer lists);
+-- it includes lecturer_db_id so those lookups never touch the table itself.
+CREATE TABLE lecturer_student (
+    lecturer_db_id BIGINT NOT NULL,
+    student_db_id  BIGINT NOT NULL,
+    CONSTRAINT pk_lecturer_student PRIMARY KEY (lecturer_db_id, student_db_id),
+    CONSTRAINT fk_lecturer_student_lecturer FOREIGN KEY (lecturer_db_id) REFERENCES lecturers (id),
+    CONSTRAINT fk_lecturer_student_student FOREIGN KEY (student_db_id) REFERENCES students (id)
+);
+
+CREATE INDEX idx_lecturer_student_student ON lecturer_student (student_db_id, lecturer_db_id);
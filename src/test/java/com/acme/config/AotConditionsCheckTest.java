@@ -0,0 +1,42 @@
+package com.acme.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AOT Conditions Check Tests")
+class AotConditionsCheckTest {
+
+    @Test
+    @DisplayName("Should refuse an AOT start asked for settings fixed at build time")
+    void shouldRefuseBuildTimeSettings() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("acme.enrollment-queue.enabled", "true")
+                .withProperty("acme.rate-limit.enabled", "false");
+        environment.setActiveProfiles("prod", "virtual");
+
+        AotConditionsCheck check = new AotConditionsCheck(environment, true);
+
+        assertThat(check.ignoredSettings())
+                .containsExactly("profile 'virtual'", "acme.enrollment-queue.enabled=true");
+        assertThatThrownBy(check::afterPropertiesSet)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Start without -Dspring.aot.enabled=true");
+    }
+
+    @Test
+    @DisplayName("Should accept runtime settings under AOT, and anything without it")
+    void shouldAcceptRuntimeSettings() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("acme.datasource.routing.enabled", "false")
+                .withProperty("acme.idempotency.enabled", "false");
+        environment.setActiveProfiles("prod");
+        new AotConditionsCheck(environment, true).afterPropertiesSet();
+
+        environment.setActiveProfiles("virtual");
+        new AotConditionsCheck(environment, false).afterPropertiesSet();
+    }
+}
@@ -0,0 +1,145 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BatchGetRequest;
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.support.SqlCountingConfiguration;
+import com.acme.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "acme.batch-get.max-ids=4")
+@AutoConfigureMockMvc
+@Import(SqlCountingConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Batch Get Integration Tests")
+class BatchGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @BeforeEach
+    void seed() throws Exception {
+        for (String lecturerId : List.of("PROF1", "PROF2", "PROF3")) {
+            mockMvc.perform(post("/lecturers")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", lecturerId))))
+                    .andExpect(status().isCreated());
+        }
+        List<CreateStudentRequest> students = List.of(
+                new CreateStudentRequest("Alan", "Turing", "STU1"),
+                new CreateStudentRequest("Grace", "Hopper", "STU2"),
+                new CreateStudentRequest("Edsger", "Dijkstra", "STU3"));
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", "PROF2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", "PROF1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students.subList(0, 1)))))
+                .andExpect(status().isOk());
+    }
+
+    private String batchGet(String... ids) throws Exception {
+        return objectMapper.writeValueAsString(new BatchGetRequest(Arrays.asList(ids)));
+    }
+
+    @Test
+    @DisplayName("Should return students in request order with their lecturers, in one statement")
+    void shouldGetStudents() throws Exception {
+        sql.reset();
+        mockMvc.perform(get("/students").param("ids", "STU3,NOPE,STU1,STU3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].studentId", contains("STU3", "STU1")))
+                .andExpect(jsonPath("$.items[0].name").value("Edsger"))
+                .andExpect(jsonPath("$.items[0].lecturers[*].lecturerId", contains("PROF2")))
+                .andExpect(jsonPath("$.items[1].lecturers[*].lecturerId", contains("PROF1", "PROF2")))
+                .andExpect(jsonPath("$.notFound", contains("NOPE")));
+        sql.assertExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should accept the ids in a POST body as well")
+    void shouldBatchGetStudents() throws Exception {
+        mockMvc.perform(post("/students:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchGet("STU2", "STU1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].studentId", contains("STU2", "STU1")))
+                .andExpect(jsonPath("$.notFound", empty()));
+    }
+
+    @Test
+    @DisplayName("Should return lecturers with a student count instead of the roster")
+    void shouldGetLecturers() throws Exception {
+        sql.reset();
+        mockMvc.perform(get("/lecturers").param("ids", "PROF2", "PROF3", "PROF9", "PROF1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].lecturerId", contains("PROF2", "PROF3", "PROF1")))
+                .andExpect(jsonPath("$.items[*].studentCount", contains(3, 0, 1)))
+                .andExpect(jsonPath("$.items[0].students").doesNotExist())
+                .andExpect(jsonPath("$.notFound", contains("PROF9")));
+        sql.assertExactly(1);
+
+        mockMvc.perform(post("/lecturers:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchGet("PROF3")))
+                .andExpect(jsonPath("$.items[*].lecturerId", contains("PROF3")));
+    }
+
+    @Test
+    @DisplayName("Should reject more distinct ids than acme.batch-get.max-ids")
+    void shouldLimitIds() throws Exception {
+        mockMvc.perform(get("/students").param("ids", "A,B,C,D,A"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/students").param("ids", "A,B,C,D,E"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 4 ids can be requested at once, got 5"));
+        mockMvc.perform(post("/lecturers:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchGet("A", "B", "C", "D", "E")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty id list or a blank id")
+    void shouldValidateIds() throws Exception {
+        mockMvc.perform(get("/students").param("ids", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/students:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/lecturers:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchGet("PROF1", " ")))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,180 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.support.SqlCountingConfiguration;
+import com.acme.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "acme.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@Import(SqlCountingConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Concurrent Create Integration Tests")
+class ConcurrentCreateIntegrationTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    private RequestBuilder createLecturer(String lecturerId) throws Exception {
+        return post("/lecturers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", lecturerId)));
+    }
+
+    private RequestBuilder addStudent(String lecturerId) throws Exception {
+        return post("/lecturers/{lecturerId}/add", lecturerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateStudentRequest("Alan", "Turing", "STU1")));
+    }
+
+    private RequestBuilder addStudents(String lecturerId) throws Exception {
+        return post("/lecturers/{lecturerId}/add/batch", lecturerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(List.of(
+                        new CreateStudentRequest("Alan", "Turing", "STU1"),
+                        new CreateStudentRequest("Grace", "Hopper", "STU2")))));
+    }
+
+    private void createLecturers() throws Exception {
+        for (int i = 0; i < CALLERS; i++) {
+            mockMvc.perform(createLecturer("PROF" + i)).andExpect(status().isCreated());
+        }
+    }
+
+    /**
+     * Sends all requests at once, from one thread each.
+     */
+    private List<MvcResult> concurrently(List<RequestBuilder> requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (RequestBuilder request : requests) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(request).andReturn();
+                }));
+            }
+            start.countDown();
+            List<MvcResult> results = new ArrayList<>();
+            for (Future<MvcResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Integer> statuses(List<MvcResult> results) {
+        return results.stream().map(result -> result.getResponse().getStatus()).toList();
+    }
+
+    @Test
+    @DisplayName("Should create a lecturer once and answer every concurrent duplicate with 409, one statement each")
+    void shouldCreateLecturerOnce() throws Exception {
+        List<RequestBuilder> requests = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            requests.add(createLecturer("PROF1"));
+        }
+
+        sql.reset();
+        List<MvcResult> results = concurrently(requests);
+
+        assertThat(statuses(results)).containsOnly(201, 409).containsOnlyOnce(201);
+        for (MvcResult result : results) {
+            if (result.getResponse().getStatus() == 409) {
+                assertThat(result.getResponse().getContentAsString())
+                        .contains("Lecturer with ID 'PROF1' already exists");
+            }
+        }
+        // One INSERT per request, the failed ones included; no existence checks.
+        sql.assertExactly(CALLERS);
+    }
+
+    @Test
+    @DisplayName("Should answer a student created by a concurrent enrollment with 409, and reuse it on retry")
+    void shouldCreateStudentOnce() throws Exception {
+        createLecturers();
+        List<RequestBuilder> requests = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            requests.add(addStudent("PROF" + i));
+        }
+
+        List<MvcResult> results = concurrently(requests);
+
+        assertThat(statuses(results)).containsOnly(201, 409).contains(201);
+        for (int i = 0; i < CALLERS; i++) {
+            if (results.get(i).getResponse().getStatus() == 409) {
+                assertThat(results.get(i).getResponse().getContentAsString())
+                        .contains("Student with ID 'STU1' was just created by another request");
+                mockMvc.perform(addStudent("PROF" + i)).andExpect(status().isCreated());
+            }
+        }
+        mockMvc.perform(get("/students/{studentId}", "STU1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lecturers.length()").value(CALLERS));
+    }
+
+    @Test
+    @DisplayName("Should answer a batch racing another batch for a new student with 409, and complete it on retry")
+    void shouldCreateBatchStudentsOnce() throws Exception {
+        createLecturers();
+        List<RequestBuilder> requests = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            requests.add(addStudents("PROF" + i));
+        }
+
+        List<MvcResult> results = concurrently(requests);
+
+        assertThat(statuses(results)).containsOnly(200, 409).contains(200);
+        for (int i = 0; i < CALLERS; i++) {
+            if (results.get(i).getResponse().getStatus() == 409) {
+                mockMvc.perform(addStudents("PROF" + i))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.results[*].status", everyItem(is("ENROLLED"))));
+            }
+        }
+        for (String studentId : List.of("STU1", "STU2")) {
+            mockMvc.perform(get("/students/{studentId}", studentId))
+                    .andExpect(jsonPath("$.lecturers.length()").value(CALLERS));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.response.LecturerResponse;
+import com.acme.dto.response.StudentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "acme.cache.gzip-min-size=1KB")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Content Negotiation Integration Tests")
+class ContentNegotiationIntegrationTest {
+
+    private static final int ROSTER_SIZE = 50;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void seed() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", "PROF1"))))
+                .andExpect(status().isCreated());
+        List<CreateStudentRequest> students = IntStream.range(0, ROSTER_SIZE)
+                .mapToObj(i -> new CreateStudentRequest("Student", "Number" + i, String.format("STU%03d", i)))
+                .toList();
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", "PROF1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))))
+                .andExpect(status().isOk());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private HttpResponse<byte[]> send(String path, String acceptEncoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    @DisplayName("Should send the cached lecturer as CBOR with its own ETag")
+    void shouldServeCachedCbor() throws Exception {
+        byte[] json = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] cbor = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(cborMapper.readValue(cbor, LecturerResponse.class))
+                .isEqualTo(objectMapper.readValue(json, LecturerResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should gzip the cached CBOR body for clients that accept gzip")
+    void shouldServeGzippedCbor() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] gzipped = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-cbor-gzip\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(gzipped)).isEqualTo(cbor);
+    }
+
+    @Test
+    @DisplayName("Should encode shaped responses as CBOR through the message converter")
+    void shouldServeShapedCbor() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/students/{studentId}", "STU001")
+                        .param("lecturersView", "ids")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-cbor\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        StudentResponse student = cborMapper.readValue(cbor, StudentResponse.class);
+        assertThat(student.studentId()).isEqualTo("STU001");
+        assertThat(student.lecturerIds()).containsExactly("PROF1");
+        assertThat(student.lecturers()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should prefer JSON unless CBOR is asked for at least as strongly")
+    void shouldNegotiateFormat() throws Exception {
+        mockMvc.perform(get("/students/{studentId}", "STU001")
+                        .header(HttpHeaders.ACCEPT, "application/json, application/cbor"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/students/{studentId}", "STU001")
+                        .header(HttpHeaders.ACCEPT, "application/cbor, */*"))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/students/{studentId}", "STU001")
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/students/{studentId}", "STU001"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 to a CBOR ETag with the CBOR ETag")
+    void shouldRevalidateCbor() throws Exception {
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-cbor\""));
+    }
+
+    @Test
+    @DisplayName("Should let the container gzip responses that have no ETag")
+    void shouldCompressOtherResponses() throws Exception {
+        HttpResponse<byte[]> search = send("/students/search?q=student&limit=50", "gzip");
+        assertThat(search.statusCode()).isEqualTo(200);
+        assertThat(search.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(objectMapper.readTree(gunzip(search.body()))).hasSize(ROSTER_SIZE);
+
+        HttpResponse<byte[]> identity = send("/students/search?q=student&limit=50", "identity");
+        assertThat(identity.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(search.body().length).isLessThan(identity.body().length);
+    }
+
+    @Test
+    @DisplayName("Should not compress cached responses twice")
+    void shouldNotDoubleCompress() throws Exception {
+        HttpResponse<byte[]> lecturer = send("/lecturers/PROF1", "gzip");
+        assertThat(lecturer.headers().firstValue(HttpHeaders.ETAG)).hasValue("\"1-gzip\"");
+        assertThat(lecturer.headers().allValues(HttpHeaders.CONTENT_ENCODING)).containsExactly("gzip");
+        assertThat(objectMapper.readValue(gunzip(lecturer.body()), LecturerResponse.class).students())
+                .hasSize(ROSTER_SIZE);
+    }
+}
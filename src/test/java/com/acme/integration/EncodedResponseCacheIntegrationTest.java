@@ -0,0 +1,169 @@
+package com.acme.integration;
+
+import com.acme.config.CacheConfig;
+import com.acme.config.InvalidationTrackingCache;
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.response.Versioned;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "acme.cache.gzip-min-size=1KB")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Encoded Response Cache Integration Tests")
+class EncodedResponseCacheIntegrationTest {
+
+    private static final int ROSTER_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void seed() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", "PROF1"))))
+                .andExpect(status().isCreated());
+        List<CreateStudentRequest> students = IntStream.range(0, ROSTER_SIZE)
+                .mapToObj(i -> new CreateStudentRequest("Student", "Number" + i, String.format("STU%03d", i)))
+                .toList();
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", "PROF1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))))
+                .andExpect(status().isOk());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private long weightedSize(String cacheName) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cacheManager.getCache(cacheName).getNativeCache();
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should serve the same encoded bytes on a hit as on the miss that cached them")
+    void shouldServeCachedBytes() throws Exception {
+        MvcResult miss = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.students.length()").value(ROSTER_SIZE))
+                .andReturn();
+        MvcResult hit = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, miss.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andReturn();
+
+        assertThat(hit.getResponse().getContentAsByteArray()).isEqualTo(miss.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should send the cached gzip encoding to clients that accept it")
+    void shouldServeGzip() throws Exception {
+        byte[] json = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult gzipped = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-gzip\""))
+                .andReturn();
+        byte[] compressed = gzipped.getResponse().getContentAsByteArray();
+
+        assertThat(compressed.length).isLessThan(json.length);
+        assertThat(gunzip(compressed)).isEqualTo(json);
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-gzip\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Should not compress bodies below the gzip threshold")
+    void shouldSkipGzipForSmallBodies() throws Exception {
+        mockMvc.perform(get("/students/{studentId}", "STU001").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.studentId").value("STU001"));
+    }
+
+    @Test
+    @DisplayName("Should weigh cache entries by the bytes they hold")
+    void shouldWeighEntriesByBytes() throws Exception {
+        assertThat(weightedSize(CacheConfig.LECTURERS_CACHE)).isZero();
+
+        byte[] json = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] gzip = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(weightedSize(CacheConfig.LECTURERS_CACHE)).isGreaterThanOrEqualTo(json.length + gzip.length);
+    }
+
+    @Test
+    @DisplayName("Should not let a load that an enrollment overtook put the old version back")
+    void shouldDropLoadOvertakenByWrite() throws Exception {
+        InvalidationTrackingCache cache = CacheConfig.trackingCache(cacheManager, CacheConfig.LECTURERS_CACHE);
+        // A miss reads the counter, then loads version 1 ...
+        long invalidations = cache.invalidations("PROF1");
+        Versioned<?> stale = new Versioned<>(1, "roster as of version 1");
+
+        // ... while an enrollment commits and evicts ...
+        mockMvc.perform(post("/lecturers/{lecturerId}/add", "PROF1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateStudentRequest("Late", "Comer", "STU999"))))
+                .andExpect(status().isCreated());
+
+        // ... so the load's put is refused, and the next request reads version 2.
+        assertThat(cache.putIfNotInvalidated("PROF1", stale, invalidations)).isFalse();
+        assertThat(cache.get("PROF1")).isNull();
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.students.length()").value(ROSTER_SIZE + 1));
+        assertThat(cache.get("PROF1", Versioned.class).version()).isEqualTo(2);
+    }
+}
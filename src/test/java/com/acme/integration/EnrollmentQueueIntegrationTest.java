@@ -0,0 +1,228 @@
+package com.acme.integration;
+
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.response.EnrollmentTicket;
+import com.acme.service.EnrollmentQueue;
+import com.acme.service.UniversityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The flusher is effectively switched off (one-hour interval); tests flush explicitly so that
+ * what is still queued and what has been committed is deterministic.
+ */
+@SpringBootTest(properties = {
+        "acme.enrollment-queue.enabled=true",
+        "acme.enrollment-queue.capacity=3",
+        "acme.enrollment-queue.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Enrollment Queue Integration Tests")
+class EnrollmentQueueIntegrationTest {
+
+    private static final String LECTURER_ID = "PROF1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EnrollmentQueue enrollmentQueue;
+
+    @Autowired
+    private UniversityService universityService;
+
+    @BeforeEach
+    void createLecturer() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", LECTURER_ID))))
+                .andExpect(status().isCreated());
+    }
+
+    private ResultActions enrollAsync(String lecturerId, String name, String studentId) throws Exception {
+        return mockMvc.perform(post("/lecturers/{lecturerId}/add", lecturerId)
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateStudentRequest(name, "Turing", studentId))));
+    }
+
+    private String ticketId(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), EnrollmentTicket.class)
+                .ticketId();
+    }
+
+    private ResultActions getTicket(String ticketId) throws Exception {
+        return mockMvc.perform(get("/enrollments/{ticketId}", ticketId));
+    }
+
+    @Test
+    @DisplayName("Should acknowledge with 202 and a ticket, then report the committed outcome")
+    void shouldQueueAndCommit() throws Exception {
+        ResultActions accepted = enrollAsync(LECTURER_ID, "Alan", "STU1")
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(header().string("Location", containsString("/enrollments/")))
+                .andExpect(jsonPath("$.state").value("PENDING"))
+                .andExpect(jsonPath("$.studentId").value("STU1"));
+        String ticketId = ticketId(accepted);
+
+        getTicket(ticketId)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("PENDING"))
+                .andExpect(jsonPath("$.result").doesNotExist());
+        mockMvc.perform(get("/students/{studentId}", "STU1"))
+                .andExpect(status().isNotFound());
+
+        enrollmentQueue.flush();
+
+        getTicket(ticketId)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.result.status").value("CREATED"))
+                .andExpect(jsonPath("$.httpStatus").value(201));
+        mockMvc.perform(get("/students/{studentId}", "STU1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lecturers[0].lecturerId").value(LECTURER_ID));
+    }
+
+    @Test
+    @DisplayName("Should report the 409 outcomes of the synchronous endpoint")
+    void shouldReportConflicts() throws Exception {
+        String first = ticketId(enrollAsync(LECTURER_ID, "Alan", "STU1"));
+        String duplicate = ticketId(enrollAsync(LECTURER_ID, "Alan", "STU1"));
+        String renamed = ticketId(enrollAsync(LECTURER_ID, "Grace", "STU1"));
+
+        enrollmentQueue.flush();
+
+        getTicket(first).andExpect(jsonPath("$.httpStatus").value(201));
+        getTicket(duplicate)
+                .andExpect(jsonPath("$.result.status").value("ALREADY_ASSIGNED"))
+                .andExpect(jsonPath("$.httpStatus").value(409));
+        getTicket(renamed)
+                .andExpect(jsonPath("$.result.status").value("CONFLICT"))
+                .andExpect(jsonPath("$.httpStatus").value(409));
+    }
+
+    @Test
+    @DisplayName("Should fail only the enrollment the database rejects, not the rest of its group")
+    void shouldIsolateFailures() throws Exception {
+        String before = ticketId(enrollAsync(LECTURER_ID, "Alan", "STU1"));
+        // Valid for the API, too long for the name column.
+        String rejected = ticketId(enrollAsync(LECTURER_ID, "A".repeat(300), "STU2"));
+        String after = ticketId(enrollAsync(LECTURER_ID, "Grace", "STU3"));
+
+        enrollmentQueue.flush();
+
+        getTicket(before).andExpect(jsonPath("$.httpStatus").value(201));
+        getTicket(rejected)
+                .andExpect(jsonPath("$.result.status").value("FAILED"))
+                .andExpect(jsonPath("$.httpStatus").value(500));
+        getTicket(after).andExpect(jsonPath("$.httpStatus").value(201));
+        mockMvc.perform(get("/lecturers/{lecturerId}", LECTURER_ID))
+                .andExpect(jsonPath("$.students[*].studentId", contains("STU1", "STU3")));
+    }
+
+    @Test
+    @DisplayName("Should fail the whole group with 503 in one attempt when no connection can be had")
+    void shouldNotSplitOnDatabaseOutage() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        MethodInterceptor outage = invocation -> {
+            if (invocation.getMethod().getName().equals("addStudentsToLecturer")) {
+                attempts.incrementAndGet();
+                throw new CannotCreateTransactionException("Connection is not available, request timed out");
+            }
+            return invocation.proceed();
+        };
+        List<String> tickets = List.of(
+                ticketId(enrollAsync(LECTURER_ID, "Alan", "STU1")),
+                ticketId(enrollAsync(LECTURER_ID, "Grace", "STU2")),
+                ticketId(enrollAsync(LECTURER_ID, "Edsger", "STU3")));
+
+        ((Advised) universityService).addAdvice(0, outage);
+        try {
+            enrollmentQueue.flush();
+        } finally {
+            ((Advised) universityService).removeAdvice(outage);
+        }
+
+        assertThat(attempts).hasValue(1);
+        for (String ticket : tickets) {
+            getTicket(ticket)
+                    .andExpect(jsonPath("$.result.status").value("UNAVAILABLE"))
+                    .andExpect(jsonPath("$.httpStatus").value(503));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report 404 for an unknown lecturer")
+    void shouldReportUnknownLecturer() throws Exception {
+        String ticketId = ticketId(enrollAsync("PROFMISSING", "Alan", "STU1").andExpect(status().isAccepted()));
+
+        enrollmentQueue.flush();
+
+        getTicket(ticketId)
+                .andExpect(jsonPath("$.result.status").value("LECTURER_NOT_FOUND"))
+                .andExpect(jsonPath("$.result.message").value("Lecturer with ID 'PROFMISSING' not found"))
+                .andExpect(jsonPath("$.httpStatus").value(404));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the queue is full")
+    void shouldApplyBackpressure() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            enrollAsync(LECTURER_ID, "Alan", "STU" + i).andExpect(status().isAccepted());
+        }
+
+        enrollAsync(LECTURER_ID, "Alan", "STU9")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        enrollmentQueue.flush();
+        enrollAsync(LECTURER_ID, "Alan", "STU9").andExpect(status().isAccepted());
+    }
+
+    @Test
+    @DisplayName("Should still enroll synchronously without Prefer: respond-async")
+    void shouldKeepSynchronousEndpoint() throws Exception {
+        mockMvc.perform(post("/lecturers/{lecturerId}/add", LECTURER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateStudentRequest("Alan", "Turing", "STU1"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should validate before queueing and 404 on unknown tickets")
+    void shouldRejectInvalidRequests() throws Exception {
+        enrollAsync(LECTURER_ID, "", "STU1").andExpect(status().isBadRequest());
+        getTicket("no-such-ticket").andExpect(status().isNotFound());
+    }
+}
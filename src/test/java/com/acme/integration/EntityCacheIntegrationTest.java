@@ -0,0 +1,158 @@
+package com.acme.integration;
+
+import com.acme.config.EntityCacheConfig;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.entity.Lecturer;
+import com.acme.entity.Student;
+import com.acme.repository.LecturerRepository;
+import com.acme.repository.StudentRepository;
+import com.acme.support.SqlCountingConfiguration;
+import com.acme.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlCountingConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Entity Cache Integration Tests")
+class EntityCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @BeforeEach
+    void seed() throws Exception {
+        createLecturer("PROF1");
+        createLecturer("PROF2");
+        enroll("PROF1", "STU1");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private void createLecturer(String lecturerId) throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Prof", "Cache", lecturerId))))
+                .andExpect(status().isCreated());
+    }
+
+    private void enroll(String lecturerId, String studentId) throws Exception {
+        mockMvc.perform(post("/lecturers/{lecturerId}/add", lecturerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateStudentRequest("Alan", "Turing", studentId))))
+                .andExpect(status().isCreated());
+    }
+
+    /**
+     * The lookups the enrollment write path starts with, run as it runs them.
+     */
+    private Lecturer findLecturer(String lecturerId) {
+        return transactionTemplate.execute(status -> lecturerRepository.findByLecturerId(lecturerId).orElseThrow());
+    }
+
+    private Student findStudent(String studentId) {
+        return transactionTemplate.execute(status -> studentRepository.findByStudentId(studentId).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated lecturer lookup by lecturerId from the natural-id and entity caches")
+    void shouldCacheFindByLecturerId() {
+        sql.reset();
+        findLecturer("PROF1");
+        sql.assertExactly(1);
+
+        sql.reset();
+        findLecturer("PROF1");
+        sql.assertExactly(0);
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated student lookup by studentId from the natural-id and entity caches")
+    void shouldCacheFindByStudentId() {
+        sql.reset();
+        findStudent("STU1");
+        assertThat(sql.count()).isPositive();
+
+        sql.reset();
+        findStudent("STU1");
+        sql.assertExactly(0);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached lecturer and student when an enrollment changes them")
+    void shouldEvictOnEnrollment() throws Exception {
+        long lecturerVersion = findLecturer("PROF2").getVersion();
+        long studentVersion = findStudent("STU1").getVersion();
+
+        enroll("PROF2", "STU1");
+
+        assertThat(findLecturer("PROF2").getVersion()).isGreaterThan(lecturerVersion);
+        assertThat(findStudent("STU1").getVersion()).isGreaterThan(studentVersion);
+    }
+
+    @Test
+    @DisplayName("Should keep multi-get results, which may come from a replica, out of the entity cache")
+    void shouldNotCacheBatchGetResults() {
+        Long studentDbId = transactionTemplate.execute(status ->
+                studentRepository.findWithLecturersByStudentIdIn(List.of("STU1")).get(0).getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Student.class, studentDbId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should export second-level and natural-id cache hits and misses")
+    void shouldExposeHitRatios() {
+        findStudent("STU1");
+        findStudent("STU1");
+
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", EntityCacheConfig.STUDENT_REGION)
+                .tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("hibernate.cache.natural.id.requests")
+                .tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+}
@@ -0,0 +1,109 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Export Integration Tests")
+class ExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private void createLecturer(String lecturerId, String... studentIds) throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Prof", "Export", lecturerId))))
+                .andExpect(status().isCreated());
+        if (studentIds.length == 0) {
+            return;
+        }
+        List<CreateStudentRequest> students = new ArrayList<>();
+        for (String studentId : studentIds) {
+            students.add(new CreateStudentRequest("Student", "Export", studentId));
+        }
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", lecturerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))))
+                .andExpect(status().isOk());
+    }
+
+    private List<JsonNode> exportLines(RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Should stream one line per lecturer ordered by lecturerId, including empty rosters")
+    void shouldStreamLecturersAsNdjson() throws Exception {
+        createLecturer("PROFB", "STU2", "STU1");
+        createLecturer("PROFA");
+        createLecturer("PROFC", "STU1");
+
+        List<JsonNode> lines = exportLines(get("/export/lecturers"));
+
+        assertThat(lines).extracting(line -> line.get("lecturerId").asText())
+                .containsExactly("PROFA", "PROFB", "PROFC");
+        assertThat(lines.get(0).get("students")).isEmpty();
+        assertThat(lines.get(1).get("students")).extracting(student -> student.get("studentId").asText())
+                .containsExactly("STU1", "STU2");
+        assertThat(lines.get(2).get("students")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should resume after the given natural key")
+    void shouldResumeAfterNaturalKey() throws Exception {
+        createLecturer("PROFA", "STU1");
+        createLecturer("PROFB", "STU1", "STU2");
+        createLecturer("PROFC");
+
+        List<JsonNode> lecturers = exportLines(get("/export/lecturers").param("after", "PROFA"));
+        assertThat(lecturers).extracting(line -> line.get("lecturerId").asText())
+                .containsExactly("PROFB", "PROFC");
+
+        List<JsonNode> students = exportLines(get("/export/students").param("after", "STU1"));
+        assertThat(students).hasSize(1);
+        assertThat(students.get(0).get("studentId").asText()).isEqualTo("STU2");
+        assertThat(students.get(0).get("lecturers")).extracting(lecturer -> lecturer.get("lecturerId").asText())
+                .containsExactly("PROFB");
+    }
+}
@@ -0,0 +1,248 @@
+package com.acme.integration;
+
+import com.acme.config.IdempotencyProperties;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.idempotency.IdempotencyFilter;
+import com.acme.ratelimit.ClientIdentity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Idempotency Integration Tests")
+class IdempotencyIntegrationTest {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String REPLAYED = "Idempotent-Replayed";
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private IdempotencyProperties idempotencyProperties;
+
+    private ResultActions createLecturer(String idempotencyKey, CreateLecturerRequest request) throws Exception {
+        return mockMvc.perform(post("/lecturers")
+                .header(IDEMPOTENCY_KEY, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private ResultActions addStudent(String idempotencyKey, String lecturerId, CreateStudentRequest request)
+            throws Exception {
+        return mockMvc.perform(post("/lecturers/{lecturerId}/add", lecturerId)
+                .header(IDEMPOTENCY_KEY, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private long serviceCalls(String method) {
+        return meterRegistry.find("acme.service").tag("method", method).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored 201 for a retried create without reaching the service")
+    void shouldReplayCreateLecturer() throws Exception {
+        CreateLecturerRequest request = new CreateLecturerRequest("Ada", "Lovelace", "PROF1");
+        MvcResult first = createLecturer("retry-1", request)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(REPLAYED))
+                .andReturn();
+
+        MvcResult retry = createLecturer("retry-1", request)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(REPLAYED, "true"))
+                .andExpect(header().string("Location", first.getResponse().getHeader("Location")))
+                .andReturn();
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(serviceCalls("createLecturer")).isEqualTo(1);
+
+        createLecturer("another-key", request).andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should replay a retried enrollment instead of reporting it as already assigned")
+    void shouldReplayAddStudent() throws Exception {
+        createLecturer("lecturer", new CreateLecturerRequest("Ada", "Lovelace", "PROF1")).andExpect(status().isCreated());
+        CreateStudentRequest student = new CreateStudentRequest("Alan", "Turing", "STU1");
+
+        addStudent("enroll-1", "PROF1", student).andExpect(status().isCreated());
+        addStudent("enroll-1", "PROF1", student)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(REPLAYED, "true"))
+                .andExpect(jsonPath("$.studentId").value("STU1"));
+
+        assertThat(serviceCalls("addStudentToLecturer")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectReusedKey() throws Exception {
+        createLecturer("reused", new CreateLecturerRequest("Ada", "Lovelace", "PROF1")).andExpect(status().isCreated());
+
+        createLecturer("reused", new CreateLecturerRequest("Grace", "Hopper", "PROF2"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("This Idempotency-Key was already used for a different request"));
+    }
+
+    @Test
+    @DisplayName("Should not keep error responses, so the request runs again on retry")
+    void shouldNotStoreErrors() throws Exception {
+        addStudent("missing", "PROFMISSING", new CreateStudentRequest("Alan", "Turing", "STU1"))
+                .andExpect(status().isNotFound());
+
+        createLecturer("lecturer", new CreateLecturerRequest("Ada", "Lovelace", "PROFMISSING"))
+                .andExpect(status().isCreated());
+
+        addStudent("missing", "PROFMISSING", new CreateStudentRequest("Alan", "Turing", "STU1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(REPLAYED));
+    }
+
+    @Test
+    @DisplayName("Should scope keys to the client")
+    void shouldScopeKeysToClient() throws Exception {
+        String body = objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", "PROF1"));
+        mockMvc.perform(post("/lecturers").header(API_KEY_HEADER, "client-a").header(IDEMPOTENCY_KEY, "shared")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/lecturers").header(API_KEY_HEADER, "client-b").header(IDEMPOTENCY_KEY, "shared")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and hand every caller the same response")
+    void shouldCollapseConcurrentDuplicates() throws Exception {
+        CreateLecturerRequest request = new CreateLecturerRequest("Ada", "Lovelace", "PROF1");
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                Callable<MvcResult> call = () -> {
+                    start.await();
+                    return createLecturer("concurrent", request).andReturn();
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+
+            List<String> bodies = new ArrayList<>();
+            for (Future<MvcResult> future : futures) {
+                MvcResult result = future.get();
+                assertThat(result.getResponse().getStatus()).isEqualTo(201);
+                bodies.add(result.getResponse().getContentAsString());
+            }
+            assertThat(bodies).containsOnly(bodies.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(serviceCalls("createLecturer")).isEqualTo(1);
+        assertThat(meterRegistry.get("acme.idempotency.requests").tag("outcome", "replayed").counter().count())
+                .isEqualTo(callers - 1);
+    }
+
+    @Test
+    @DisplayName("Should answer 413 for a keyed body over max-body-size without reaching the service")
+    void shouldRejectOversizedBody() throws Exception {
+        String padding = " ".repeat(Math.toIntExact(idempotencyProperties.maxBodySize().toBytes()));
+        String body = objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", "PROF1")) + padding;
+
+        mockMvc.perform(post("/lecturers")
+                        .header(IDEMPOTENCY_KEY, "big")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value(
+                        "Request bodies sent with an Idempotency-Key must be at most 65536 bytes"));
+
+        assertThat(serviceCalls("createLecturer")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand the buffered body to a non-blocking reader through its ReadListener")
+    void shouldSupportReadListener() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(idempotencyProperties,
+                new ClientIdentity(API_KEY_HEADER, List.of()), new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/lecturers");
+        request.addHeader(IDEMPOTENCY_KEY, "async");
+        request.setContent("{\"name\":\"Ada\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (wrapped, response) -> {
+            ServletInputStream in = wrapped.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("dataAvailable");
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("allDataRead");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+        });
+
+        assertThat(events).containsExactly("dataAvailable", "allDataRead");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"Ada\"}");
+    }
+}
@@ -0,0 +1,128 @@
+package com.acme.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "acme.import.chunk-size=2")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Import Integration Tests")
+class ImportIntegrationTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<JsonNode> importEnrollments(MediaType contentType, String body) throws Exception {
+        MvcResult started = mockMvc.perform(post("/import/enrollments")
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String report = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : report.split("\n")) {
+            events.add(objectMapper.readTree(line));
+        }
+        return events;
+    }
+
+    private static List<JsonNode> ofType(List<JsonNode> events, String type) {
+        return events.stream().filter(event -> type.equals(event.get("type").asText())).toList();
+    }
+
+    @Test
+    @DisplayName("Should load a CSV in chunks and report row errors and a summary")
+    void shouldImportCsv() throws Exception {
+        String csv = """
+                lecturerId,lecturerName,lecturerSurname,studentId,studentName,studentSurname
+                PROF1,Ada,Lovelace,STU1,Alan,Turing
+                PROF1,Ada,Lovelace,STU2,Grace,Hopper
+                PROF2,Edsger,Dijkstra,STU1,Alan,Turing
+                PROF2,Edsger,Dijkstra,STU3,Bad Name,Hopper
+                PROF1,Ada,Lovelace,STU1,Alan,Turing
+                PROF2,Edsger,Dijkstra,STU2,Grace,Smith
+                PROF3,Barbara,Liskov
+                """;
+
+        List<JsonNode> events = importEnrollments(TEXT_CSV, csv);
+
+        assertThat(ofType(events, "error")).extracting(error -> error.get("line").asLong())
+                .containsExactlyInAnyOrder(5L, 7L);
+        assertThat(ofType(events, "progress")).isNotEmpty();
+        JsonNode summary = events.get(events.size() - 1);
+        assertThat(summary.get("type").asText()).isEqualTo("summary");
+        assertThat(summary.get("rows").asLong()).isEqualTo(7);
+        assertThat(summary.get("enrolled").asLong()).isEqualTo(3);
+        assertThat(summary.get("skipped").asLong()).isEqualTo(1);
+        assertThat(summary.get("failed").asLong()).isEqualTo(2);
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.length()").value(2));
+        mockMvc.perform(get("/students/{studentId}", "STU1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lecturers.length()").value(2));
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON, reuse existing students and report malformed lines")
+    void shouldImportNdjson() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ada\",\"surname\":\"Lovelace\",\"lecturerId\":\"PROF1\"}"))
+                .andExpect(status().isCreated());
+
+        String ndjson = """
+                {"lecturerId":"PROF1","lecturerName":"Ada","lecturerSurname":"Lovelace","studentId":"STU1","studentName":"Alan","studentSurname":"Turing"}
+                {"lecturerId":"PROF1","lecturerName":"Ada",
+                {"lecturerId":"PROF1","lecturerName":"Other","lecturerSurname":"Name","studentId":"STU2","studentName":"Grace","studentSurname":"Hopper"}
+                """;
+
+        List<JsonNode> events = importEnrollments(MediaType.APPLICATION_NDJSON, ndjson);
+
+        List<JsonNode> errors = ofType(events, "error");
+        assertThat(errors).extracting(error -> error.get("line").asLong()).containsExactly(2L, 3L);
+        assertThat(errors.get(1).get("message").asText())
+                .isEqualTo("Lecturer with ID 'PROF1' already exists with different name/surname");
+        assertThat(events.get(events.size() - 1).get("enrolled").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV without the expected header")
+    void shouldRejectCsvWithoutHeader() throws Exception {
+        List<JsonNode> events = importEnrollments(TEXT_CSV, "PROF1,Ada,Lovelace\n");
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).get("line").asLong()).isEqualTo(1);
+        assertThat(events.get(1).get("rows").asLong()).isZero();
+    }
+}
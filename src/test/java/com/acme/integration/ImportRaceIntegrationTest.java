@@ -0,0 +1,123 @@
+package com.acme.integration;
+
+import com.acme.repository.ImportRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A concurrent API call creating a lecturer or student between the chunk's lookup and its insert.
+ * H2 has no ON CONFLICT DO NOTHING, so the repository plays that part: it creates the rows itself
+ * right before the insert and leaves them out of what the insert reports as created.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Import Race Integration Tests")
+class ImportRaceIntegrationTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    static class RacingImportRepository extends ImportRepository {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        RacingImportRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+            super(jdbcTemplate, entityManager, 50);
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Override
+        public Map<String, ExistingRow> insertLecturers(List<NewLecturer> lecturers) {
+            jdbcTemplate.update("INSERT INTO lecturers (lecturer_id, name, surname, version) VALUES ('PROF1', 'Barbara', 'Liskov', 0)");
+            return super.insertLecturers(lecturers.stream()
+                    .filter(lecturer -> !lecturer.lecturerId().equals("PROF1"))
+                    .toList());
+        }
+
+        @Override
+        public Map<String, ExistingRow> insertStudents(List<NewStudent> students) {
+            jdbcTemplate.update("INSERT INTO students (id, student_id, name, surname, version) VALUES (?, 'STU1', 'Alan', 'Turing', 0)",
+                    nextStudentId());
+            return super.insertStudents(students.stream()
+                    .filter(student -> !student.studentId().equals("STU1"))
+                    .toList());
+        }
+    }
+
+    @TestConfiguration
+    static class RacingImportConfiguration {
+
+        @Bean
+        @Primary
+        RacingImportRepository racingImportRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+            return new RacingImportRepository(jdbcTemplate, entityManager);
+        }
+    }
+
+    @Test
+    @DisplayName("Should check rows created concurrently like existing ones, and index only what the import created")
+    void shouldCheckRowsCreatedConcurrently() throws Exception {
+        String csv = """
+                lecturerId,lecturerName,lecturerSurname,studentId,studentName,studentSurname
+                PROF1,Ada,Lovelace,STU1,Alan,Turing
+                PROF2,Edsger,Dijkstra,STU1,Alan,Turing
+                """;
+        MvcResult started = mockMvc.perform(post("/import/enrollments").contentType(TEXT_CSV).content(csv))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String report = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = report.split("\n");
+
+        JsonNode error = objectMapper.readTree(lines[0]);
+        assertThat(error.get("type").asText()).isEqualTo("error");
+        assertThat(error.get("line").asLong()).isEqualTo(2);
+        assertThat(error.get("message").asText()).contains("PROF1");
+        JsonNode summary = objectMapper.readTree(lines[lines.length - 1]);
+        assertThat(summary.get("enrolled").asLong()).isEqualTo(1);
+        assertThat(summary.get("failed").asLong()).isEqualTo(1);
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(jsonPath("$.name").value("Barbara"))
+                .andExpect(jsonPath("$.students").isEmpty());
+        mockMvc.perform(get("/students/{studentId}", "STU1"))
+                .andExpect(jsonPath("$.lecturers[*].lecturerId", contains("PROF2")));
+        // The racing rows were not created by the import, so it does not index them.
+        mockMvc.perform(get("/lecturers/search").param("q", "prof"))
+                .andExpect(jsonPath("$[*].lecturerId", contains("PROF2")));
+        mockMvc.perform(get("/students/search").param("q", "stu"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.acme.integration;
+
+import com.acme.service.UniversityService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "acme.startup.lazy-packages=org.springdoc")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Lazy Beans Integration Tests")
+class LazyBeansIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private String openApiResourceBean() {
+        String[] names = beanFactory.getBeanNamesForType(OpenApiWebMvcResource.class, true, false);
+        assertThat(names).hasSize(1);
+        return names[0];
+    }
+
+    @Test
+    @DisplayName("Should create springdoc's endpoint on the first request to it")
+    void shouldCreateListedPackagesOnFirstUse() throws Exception {
+        String openApiResource = openApiResourceBean();
+        assertThat(beanFactory.getBeanDefinition(openApiResource).isLazyInit()).isTrue();
+        assertThat(beanFactory.containsSingleton(openApiResource)).isFalse();
+
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk());
+
+        assertThat(beanFactory.containsSingleton(openApiResource)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave beans outside the listed packages eager")
+    void shouldKeepOtherBeansEager() {
+        String[] names = beanFactory.getBeanNamesForType(UniversityService.class, true, false);
+        assertThat(names).hasSize(1);
+        assertThat(beanFactory.getBeanDefinition(names[0]).isLazyInit()).isFalse();
+        assertThat(beanFactory.containsSingleton(names[0])).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.acme.integration;
 
+import com.acme.dto.request.BulkEnrollmentRequest;
 import com.acme.dto.request.CreateLecturerRequest;
 import com.acme.dto.request.CreateStudentRequest;
 import com.acme.dto.response.LecturerResponse;
@@ -10,12 +11,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -138,6 +142,30 @@ class LecturerIntegrationTest {
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.message").value("Lecturer with ID 'NONEXISTENT999' not found"));
         }
+
+        @Test
+        @DisplayName("Should return not modified until the roster changes")
+        void shouldReturnNotModifiedUntilRosterChanges() throws Exception {
+            LecturerResponse lecturer = createLecturer("Jane", "Smith");
+
+            String eTag = mockMvc.perform(get("/lecturers/{lecturerId}", lecturer.lecturerId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer.lecturerId())
+                            .header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", lecturer.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(new CreateStudentRequest("Alice", "Johnson", "STU001"))))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer.lecturerId())
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students[0].studentId").value("STU001"));
+        }
     }
 
     @Nested
@@ -177,5 +205,166 @@ class LecturerIntegrationTest {
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.message").value("Lecturer with ID 'NONEXISTENT999' not found"));
         }
+
+        @Test
+        @DisplayName("Should reuse existing student and reject a repeated enrollment")
+        void shouldReuseExistingStudentAndRejectRepeatedEnrollment() throws Exception {
+            LecturerResponse first = createLecturer("Anna", "Berg");
+            LecturerResponse second = createLecturer("Tom", "Lee");
+            CreateStudentRequest request = new CreateStudentRequest("Alice", "Johnson", "STU001");
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", first.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(request)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", second.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.lecturers.length()").value(2))
+                    .andExpect(jsonPath("$.lecturers[0].lecturerId").value(first.lecturerId()))
+                    .andExpect(jsonPath("$.lecturers[1].lecturerId").value(second.lecturerId()));
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", second.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(request)))
+                    .andExpect(status().isConflict());
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", second.lecturerId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students.length()").value(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Roster Pagination")
+    class RosterPaginationTests {
+
+        private void addStudent(String lecturerId, String studentId) throws Exception {
+            CreateStudentRequest request = new CreateStudentRequest("Student", studentId, studentId);
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", lecturerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        @Test
+        @DisplayName("Should page roster by studentId using the next cursor")
+        void shouldPageRosterByStudentId() throws Exception {
+            LecturerResponse lecturer = createLecturer("Prof", "Paging");
+            addStudent(lecturer.lecturerId(), "STU003");
+            addStudent(lecturer.lecturerId(), "STU001");
+            addStudent(lecturer.lecturerId(), "STU002");
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer.lecturerId())
+                            .param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students.length()").value(2))
+                    .andExpect(jsonPath("$.students[0].studentId").value("STU001"))
+                    .andExpect(jsonPath("$.students[1].studentId").value("STU002"))
+                    .andExpect(jsonPath("$.nextCursor").value("STU002"));
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer.lecturerId())
+                            .param("limit", "2")
+                            .param("after", "STU002"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students.length()").value(1))
+                    .andExpect(jsonPath("$.students[0].studentId").value("STU003"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return bad request for non-positive limit")
+        void shouldReturnBadRequestForNonPositiveLimit() throws Exception {
+            LecturerResponse lecturer = createLecturer("Prof", "Limit");
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer.lecturerId())
+                            .param("limit", "0"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.limit").value("Limit must be at least 1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Enrollment")
+    class BulkEnrollmentTests {
+
+        @Test
+        @DisplayName("Should report per-student results in request order")
+        void shouldReportPerStudentResultsInRequestOrder() throws Exception {
+            LecturerResponse first = createLecturer("Prof", "First");
+            LecturerResponse second = createLecturer("Prof", "Second");
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", first.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(new CreateStudentRequest("Alice", "Johnson", "STU001"))))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(post("/lecturers/{lecturerId}/add", second.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(new CreateStudentRequest("Bob", "Brown", "STU002"))))
+                    .andExpect(status().isCreated());
+
+            BulkEnrollmentRequest request = new BulkEnrollmentRequest(List.of(
+                    new CreateStudentRequest("Carol", "Clark", "STU003"),
+                    new CreateStudentRequest("Alice", "Johnson", "STU001"),
+                    new CreateStudentRequest("Bob", "Brown", "STU002"),
+                    new CreateStudentRequest("Eve", "Other", "STU002"),
+                    new CreateStudentRequest("Carol", "Clark", "STU003")
+            ));
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", second.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.lecturerId").value(second.lecturerId()))
+                    .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.results[1].status").value("ENROLLED"))
+                    .andExpect(jsonPath("$.results[2].status").value("ALREADY_ASSIGNED"))
+                    .andExpect(jsonPath("$.results[2].message").value("Student with ID 'STU002' is already assigned to this lecturer"))
+                    .andExpect(jsonPath("$.results[3].status").value("CONFLICT"))
+                    .andExpect(jsonPath("$.results[4].status").value("ALREADY_ASSIGNED"));
+
+            mockMvc.perform(get("/lecturers/{lecturerId}", second.lecturerId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students.length()").value(3))
+                    .andExpect(jsonPath("$.students[0].studentId").value("STU001"))
+                    .andExpect(jsonPath("$.students[1].studentId").value("STU002"))
+                    .andExpect(jsonPath("$.students[2].studentId").value("STU003"));
+
+            mockMvc.perform(get("/students/{studentId}", "STU001"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.lecturers.length()").value(2));
+        }
+
+        @Test
+        @DisplayName("Should return not found for non-existent lecturer")
+        void shouldReturnNotFoundForNonExistentLecturer() throws Exception {
+            BulkEnrollmentRequest request = new BulkEnrollmentRequest(List.of(
+                    new CreateStudentRequest("Carol", "Clark", "STU003")));
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", NON_EXISTENT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(request)))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return bad request for empty or invalid batch")
+        void shouldReturnBadRequestForEmptyOrInvalidBatch() throws Exception {
+            LecturerResponse lecturer = createLecturer("Prof", "Empty");
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", lecturer.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(new BulkEnrollmentRequest(List.of()))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.students").exists());
+
+            mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", lecturer.lecturerId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJson(new BulkEnrollmentRequest(List.of(
+                                    new CreateStudentRequest("Bad!", "Name", "STU004"))))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors['students[0].name']").exists());
+        }
     }
-} 
\ No newline at end of file
+}
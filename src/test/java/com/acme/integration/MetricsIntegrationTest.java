@@ -0,0 +1,60 @@
+package com.acme.integration;
+
+import com.acme.dto.request.CreateLecturerRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should expose endpoint, service, Hibernate, rate limit and pool meters in Prometheus format")
+    void shouldExposePrometheusMeters() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", "PROF1"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/lecturers/{lecturerId}\"")
+                .contains("acme_service_seconds_bucket")
+                .contains("method=\"getLecturerById\"")
+                .contains("hibernate_statements_total")
+                .contains("hibernate_query_executions_total")
+                .containsPattern("acme_ratelimit_requests_total\\{[^}]*outcome=\"permitted\",route=\"api\"[^}]*} 2.0")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hikaricp_connections_pending");
+    }
+}
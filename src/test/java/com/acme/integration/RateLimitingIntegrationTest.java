@@ -1,6 +1,8 @@
 package com.acme.integration;
 
+import com.acme.dto.request.BulkEnrollmentRequest;
 import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
 import com.acme.dto.response.LecturerResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -18,11 +20,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.containsString;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -32,6 +36,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class RateLimitingIntegrationTest {
     
     private static final int RATE_LIMIT_REQUESTS = 20;
+
+    private static final int BULK_ENROLLMENT_LIMIT = 5;
+
+    private static final String API_KEY_HEADER = "X-API-Key";
     
     private static final Logger log = LoggerFactory.getLogger(RateLimitingIntegrationTest.class);
 
@@ -82,5 +90,90 @@ class RateLimitingIntegrationTest {
         log.info("Request succeeded after rate limit reset - test passed");
     }
 
-    
-} 
\ No newline at end of file
+    @Test
+    @DisplayName("Should give each API key its own budget")
+    void shouldGiveEachApiKeyItsOwnBudget() throws Exception {
+        String lecturerId = createLecturerAndGetId();
+
+        for (int i = 0; i < RATE_LIMIT_REQUESTS; i++) {
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId).header(API_KEY_HEADER, "client-a"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId).header(API_KEY_HEADER, "client-a"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.message", containsString("20 requests per 10 seconds")));
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId).header(API_KEY_HEADER, "client-b"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should not reset the budget for a client that makes up a new API key per request")
+    void shouldIgnoreUnknownApiKeys() throws Exception {
+        String lecturerId = createLecturerAndGetId();
+
+        // createLecturerAndGetId already spent one request of this IP's budget.
+        for (int i = 1; i < RATE_LIMIT_REQUESTS; i++) {
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId).header(API_KEY_HEADER, "made-up-" + i))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId).header(API_KEY_HEADER, "made-up-again"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId).header(API_KEY_HEADER, "client-a"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should report remaining quota in response headers")
+    void shouldReportRemainingQuotaInHeaders() throws Exception {
+        String lecturerId = createLecturerAndGetId();
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", String.valueOf(RATE_LIMIT_REQUESTS)))
+                .andExpect(header().string("X-RateLimit-Remaining", String.valueOf(RATE_LIMIT_REQUESTS - 2)))
+                .andExpect(header().exists("X-RateLimit-Reset"));
+    }
+
+    @Test
+    @DisplayName("Should enforce the tighter bulk enrollment budget separately")
+    void shouldEnforceBulkEnrollmentBudget() throws Exception {
+        String lecturerId = createLecturerAndGetId();
+
+        for (int i = 0; i < BULK_ENROLLMENT_LIMIT; i++) {
+            BulkEnrollmentRequest request = new BulkEnrollmentRequest(
+                    List.of(new CreateStudentRequest("Bulk", "Student", "STU9" + i)));
+            mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", lecturerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-RateLimit-Limit", String.valueOf(BULK_ENROLLMENT_LIMIT)));
+        }
+
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", lecturerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"students\": []}"))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", lecturerId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject over-budget requests before parsing the body")
+    void shouldRejectBeforeParsingBody() throws Exception {
+        for (int i = 0; i < RATE_LIMIT_REQUESTS; i++) {
+            mockMvc.perform(get("/lecturers/{lecturerId}", "PROFMISSING"))
+                    .andExpect(status().isNotFound());
+        }
+
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{not json"))
+                .andExpect(status().isTooManyRequests());
+    }
+}
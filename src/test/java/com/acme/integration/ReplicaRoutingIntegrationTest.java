@@ -0,0 +1,211 @@
+package com.acme.integration;
+
+import com.acme.datasource.ReplicaRoutingDataSource;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two H2 databases stand in for a primary and its replica. The replica gets the primary's schema
+ * but its own rows, so which database answered is visible in the response.
+ */
+@SpringBootTest(properties = {
+        "acme.datasource.routing.enabled=true",
+        "acme.datasource.routing.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "acme.datasource.routing.replicas[1].url=jdbc:h2:mem:replica_down;IFEXISTS=TRUE",
+        "acme.datasource.routing.replicas[1].connection-timeout=250ms"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void seedReplica() {
+        List<String> schema = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class);
+        SingleConnectionDataSource replica = new SingleConnectionDataSource(REPLICA_URL, "sa", "", true);
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(replica);
+            jdbc.execute("DROP ALL OBJECTS");
+            schema.forEach(jdbc::execute);
+            jdbc.update("INSERT INTO lecturers (lecturer_id, name, surname, version) VALUES (?, ?, ?, 0)",
+                    "PROFREPLICA", "Replica", "Only");
+        } finally {
+            replica.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve reads from a healthy replica and skip one that is down")
+    void shouldReadFromReplica() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            // limit bypasses the response cache, so every request reaches the database
+            mockMvc.perform(get("/lecturers/{lecturerId}", "PROFREPLICA").param("limit", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Replica"));
+        }
+
+        assertThat(replicaRoutingDataSource.healthyReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a replica whose pool timed out in rotation, and drop one that refuses connections")
+    void shouldOnlyDropUnreachableReplicas() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ReplicaRoutingDataSource busy = new ReplicaRoutingDataSource(primaryDataSource,
+                List.of(failingReplica(attempts, new SQLTransientConnectionException("replica - request timed out"))),
+                Duration.ofHours(1));
+        ReplicaRoutingDataSource refusing = new ReplicaRoutingDataSource(primaryDataSource,
+                List.of(failingReplica(attempts, new SQLException("Connection refused", "08001"))),
+                Duration.ofHours(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            for (int i = 0; i < 2; i++) {
+                try (Connection connection = busy.getConnection()) {
+                    assertThat(connection.isValid(1)).isTrue();
+                }
+            }
+            assertThat(attempts.getAndSet(0)).isEqualTo(2);
+            assertThat(busy.healthyReplicas()).isEqualTo(1);
+
+            for (int i = 0; i < 2; i++) {
+                try (Connection connection = refusing.getConnection()) {
+                    assertThat(connection.isValid(1)).isTrue();
+                }
+            }
+            assertThat(attempts.get()).isEqualTo(1);
+            assertThat(refusing.healthyReplicas()).isZero();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            busy.destroy();
+            refusing.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass credentials through to the replica")
+    void shouldPassCredentials() throws Exception {
+        List<String> usernames = new ArrayList<>();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, List.of(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return getConnection(null, null);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                usernames.add(username);
+                return primaryDataSource.getConnection();
+            }
+        }), Duration.ofHours(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = routing.getConnection("reporting", "secret")) {
+            assertThat(connection).isNotNull();
+            assertThat(usernames).containsExactly("reporting");
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            routing.destroy();
+        }
+    }
+
+    private static DataSource failingReplica(AtomicInteger attempts, SQLException failure) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                attempts.incrementAndGet();
+                throw failure;
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should write to the primary and let only the writer read it back before replication")
+    void shouldReadYourOwnWrites() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .header(API_KEY_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateLecturerRequest("Ada", "Lovelace", "PROFPRIMARY"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROFPRIMARY").param("limit", "10")
+                        .header(API_KEY_HEADER, "reader"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROFPRIMARY").header(API_KEY_HEADER, "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Ada"));
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROFREPLICA").param("limit", "10")
+                        .header(API_KEY_HEADER, "writer"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should fill the response cache from the primary only")
+    void shouldCacheFromPrimary() throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .header(API_KEY_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateLecturerRequest("Ada", "Lovelace", "PROFPRIMARY"))))
+                .andExpect(status().isCreated());
+
+        // The default page goes through the response cache, so even a client that never wrote reads the primary.
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROFPRIMARY").header(API_KEY_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Ada"));
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROFREPLICA").header(API_KEY_HEADER, "reader"))
+                .andExpect(status().isNotFound());
+    }
+}
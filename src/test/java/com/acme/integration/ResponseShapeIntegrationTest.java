@@ -0,0 +1,181 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.support.SqlCountingConfiguration;
+import com.acme.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlCountingConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Response Shape Integration Tests")
+class ResponseShapeIntegrationTest {
+
+    private static final int ROSTER_SIZE = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @BeforeEach
+    void seed() throws Exception {
+        for (String lecturerId : List.of("PROF1", "PROF2")) {
+            mockMvc.perform(post("/lecturers")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Ada", "Lovelace", lecturerId))))
+                    .andExpect(status().isCreated());
+        }
+        List<CreateStudentRequest> students = IntStream.range(0, ROSTER_SIZE)
+                .mapToObj(i -> new CreateStudentRequest("Student", "Number" + i, "STU" + i))
+                .toList();
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", "PROF1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/lecturers/{lecturerId}/add", "PROF2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(students.get(0))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should return only the requested lecturer fields")
+    void shouldReturnSparseLecturer() throws Exception {
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").param("fields", "name,surname"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Ada"))
+                .andExpect(jsonPath("$.surname").value("Lovelace"))
+                .andExpect(jsonPath("$.lecturerId").doesNotExist())
+                .andExpect(jsonPath("$.students").doesNotExist())
+                .andExpect(jsonPath("$.studentCount").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should count students without reading the roster")
+    void shouldCountStudents() throws Exception {
+        sql.reset();
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").param("studentsView", "count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lecturerId").value("PROF1"))
+                .andExpect(jsonPath("$.studentCount").value(ROSTER_SIZE))
+                .andExpect(jsonPath("$.students").doesNotExist())
+                .andExpect(jsonPath("$.studentIds").doesNotExist());
+
+        assertThat(sql.statements())
+                .filteredOn(statement -> statement.toLowerCase(Locale.ROOT).contains("lecturer_student"))
+                .singleElement()
+                .satisfies(statement -> assertThat(statement.toLowerCase(Locale.ROOT)).contains("count("));
+    }
+
+    @Test
+    @DisplayName("Should page student ids with the same cursor as the full roster")
+    void shouldPageStudentIds() throws Exception {
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .param("fields", "students")
+                        .param("studentsView", "ids")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentIds", contains("STU0", "STU1", "STU2")))
+                .andExpect(jsonPath("$.nextCursor").value("STU2"))
+                .andExpect(jsonPath("$.name").doesNotExist())
+                .andExpect(jsonPath("$.students").doesNotExist());
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .param("studentsView", "ids")
+                        .param("after", "STU2")
+                        .param("limit", "3"))
+                .andExpect(jsonPath("$.studentIds", contains("STU3", "STU4")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should run fewer statements when the collection is left out")
+    void shouldSkipCollectionQuery() throws Exception {
+        sql.reset();
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").param("fields", "lecturerId,name"))
+                .andExpect(status().isOk());
+        assertThat(sql.statements())
+                .noneMatch(statement -> statement.toLowerCase(Locale.ROOT).contains("lecturer_student"));
+
+        sql.reset();
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").param("fields", "students").param("studentsView", "count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentCount").value(ROSTER_SIZE));
+        // The version check and the COUNT; the lecturer row itself is not read.
+        sql.assertExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should mirror the options for a student's lecturers")
+    void shouldShapeStudent() throws Exception {
+        mockMvc.perform(get("/students/{studentId}", "STU0").param("lecturersView", "ids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentId").value("STU0"))
+                .andExpect(jsonPath("$.lecturerIds", contains("PROF1", "PROF2")))
+                .andExpect(jsonPath("$.lecturers").doesNotExist());
+
+        mockMvc.perform(get("/students/{studentId}", "STU0").param("lecturersView", "count"))
+                .andExpect(jsonPath("$.lecturerCount").value(2));
+
+        mockMvc.perform(get("/students/{studentId}", "STU0").param("fields", "name"))
+                .andExpect(jsonPath("$.name").value("Student"))
+                .andExpect(jsonPath("$.studentId").doesNotExist())
+                .andExpect(jsonPath("$.lecturers").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should share the entity's ETag across shapes")
+    void shouldShareETag() throws Exception {
+        String eTag = mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1")
+                        .param("studentsView", "count")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields and views")
+    void shouldValidateParameters() throws Exception {
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").param("fields", "name,salary"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROF1").param("studentsView", "some"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/students/{studentId}", "STU0").param("fields", "students"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/students/{studentId}", "STU0").param("lecturersView", ""))
+                .andExpect(status().isBadRequest());
+    }
+}
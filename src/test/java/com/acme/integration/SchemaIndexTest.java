@@ -0,0 +1,156 @@
+package com.acme.integration;
+
+import com.acme.repository.EnrollmentRepository;
+import com.acme.repository.LecturerRepository;
+import com.acme.repository.StudentRepository;
+import com.acme.support.SqlCountingConfiguration;
+import com.acme.support.SqlStatementCounter;
+import com.acme.support.SqlStatementCounter.ExecutedStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL the repositories actually issue against lecturer_student, on a schema
+ * built by the migrations and a data set large enough that the planner has a real choice.
+ * Any full scan of the join table fails the test with the statement and its plan.
+ */
+@SpringBootTest
+@Import(SqlCountingConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Schema Index Tests")
+class SchemaIndexTest {
+
+    private static final int LECTURERS = 200;
+    private static final int STUDENTS = 10_000;
+    private static final int LECTURERS_PER_STUDENT = 4;
+
+    private static final String JOIN_TABLE_SCAN = "lecturer_student.tablescan";
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.batchUpdate("INSERT INTO lecturers (id, lecturer_id, name, surname, version) VALUES (?, ?, 'Prof', 'Plan', 0)",
+                IntStream.rangeClosed(1, LECTURERS).boxed().toList(), 1000, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, lecturerId(id));
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO students (id, student_id, name, surname, version) VALUES (?, ?, 'Student', 'Plan', 0)",
+                IntStream.rangeClosed(1, STUDENTS).boxed().toList(), 1000, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, studentId(id));
+                });
+        List<long[]> enrollments = new ArrayList<>();
+        for (long student = 1; student <= STUDENTS; student++) {
+            for (int i = 0; i < LECTURERS_PER_STUDENT; i++) {
+                enrollments.add(new long[] {(student + (long) i * LECTURERS / LECTURERS_PER_STUDENT) % LECTURERS + 1, student});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO lecturer_student (lecturer_db_id, student_db_id) VALUES (?, ?)",
+                enrollments, 1000, (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String lecturerId(long id) {
+        return String.format("PROF%04d", id);
+    }
+
+    private static String studentId(long id) {
+        return String.format("STU%05d", id);
+    }
+
+    /**
+     * Exercises every repository read or probe that joins through lecturer_student.
+     * Export is left out: it reads the whole table on purpose.
+     */
+    private List<ExecutedStatement> joinTableStatements() {
+        sql.reset();
+        transactionTemplate.executeWithoutResult(status -> {
+            lecturerRepository.findRosterPage(lecturerId(1), Limit.of(101));
+            lecturerRepository.findRosterPageAfter(lecturerId(1), studentId(5000), Limit.of(101));
+            lecturerRepository.findRosterIdPageAfter(lecturerId(1), studentId(5000), Limit.of(101));
+            lecturerRepository.countStudents(lecturerId(3));
+            lecturerRepository.findEnrolledStudentIds(1L, List.of(studentId(1), studentId(2), studentId(3)));
+            studentRepository.findLecturerSummaries(studentId(7));
+            studentRepository.findLecturerIds(studentId(7));
+            studentRepository.countLecturers(studentId(7));
+            studentRepository.findWithLecturersByStudentIdIn(List.of(studentId(9), studentId(10)));
+            lecturerRepository.findStudentCounts(List.of(lecturerId(4), lecturerId(5)));
+            enrollmentRepository.insertEnrollmentIfAbsent(1L, 9L);
+        });
+        return sql.executed().stream()
+                .filter(statement -> statement.sql().toLowerCase(Locale.ROOT).contains("lecturer_student"))
+                .toList();
+    }
+
+    private String explain(ExecutedStatement statement) {
+        return String.join(System.lineSeparator(), jdbcTemplate.queryForList(
+                "EXPLAIN " + statement.sql(), String.class, statement.parameters().toArray()));
+    }
+
+    @Test
+    @DisplayName("Should reach lecturer_student through an index from both sides")
+    void shouldNotScanJoinTable() {
+        List<ExecutedStatement> statements = joinTableStatements();
+        assertThat(statements).hasSizeGreaterThanOrEqualTo(11);
+
+        for (ExecutedStatement statement : statements) {
+            String plan = explain(statement);
+            assertThat(plan.toLowerCase(Locale.ROOT))
+                    .as("Plan for%n%s%n%s", statement.sql(), plan)
+                    .doesNotContain(JOIN_TABLE_SCAN);
+        }
+    }
+
+    @Test
+    @DisplayName("Should catch the scan that a missing reverse index causes")
+    void shouldDetectScanWithoutReverseIndex() {
+        // H2 indexes foreign key columns on its own; Postgres does not. Drop the foreign key as well
+        // so the table looks like it would on Postgres without the reverse index.
+        jdbcTemplate.execute("ALTER TABLE lecturer_student DROP CONSTRAINT fk_lecturer_student_student");
+        jdbcTemplate.execute("DROP INDEX idx_lecturer_student_student");
+
+        List<String> plans = joinTableStatements().stream()
+                .map(this::explain)
+                .map(plan -> plan.toLowerCase(Locale.ROOT))
+                .toList();
+
+        assertThat(plans).anySatisfy(plan -> assertThat(plan).contains(JOIN_TABLE_SCAN));
+    }
+}
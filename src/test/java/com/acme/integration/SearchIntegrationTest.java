@@ -0,0 +1,231 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.dto.summary.StudentSummaryDto;
+import com.acme.config.ExportProperties;
+import com.acme.dto.summary.LecturerSummaryDto;
+import com.acme.repository.SearchRepository;
+import com.acme.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("Search Integration Tests")
+class SearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionRecordingSearchRepository searchRepository;
+
+    /**
+     * Notes, per scan, whether it ran inside a read-only transaction.
+     */
+    static class TransactionRecordingSearchRepository extends SearchRepository {
+
+        private final List<Boolean> readOnly = new ArrayList<>();
+
+        TransactionRecordingSearchRepository(JdbcTemplate jdbcTemplate, ExportProperties properties) {
+            super(jdbcTemplate, properties);
+        }
+
+        @Override
+        public void forEachLecturer(Consumer<LecturerSummaryDto> action) {
+            record();
+            super.forEachLecturer(action);
+        }
+
+        @Override
+        public void forEachStudent(Consumer<StudentSummaryDto> action) {
+            record();
+            super.forEachStudent(action);
+        }
+
+        // A method, not the field: the bean is proxied for exception translation.
+        List<Boolean> readOnly() {
+            return readOnly;
+        }
+
+        private void record() {
+            readOnly.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        }
+    }
+
+    @TestConfiguration
+    static class TransactionRecordingConfiguration {
+
+        @Bean
+        @Primary
+        TransactionRecordingSearchRepository transactionRecordingSearchRepository(JdbcTemplate jdbcTemplate,
+                                                                                  ExportProperties properties) {
+            return new TransactionRecordingSearchRepository(jdbcTemplate, properties);
+        }
+    }
+
+    @BeforeEach
+    void seed() throws Exception {
+        createLecturer("Ada", "Lovelace", "PROFADA");
+        createLecturer("Adam", "Smith", "PROFSMITH");
+        createLecturer("Grace", "Hopper", "PROFHOPPER");
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", "PROFADA")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(List.of(
+                                new CreateStudentRequest("Anna", "Muller", "STU1"),
+                                new CreateStudentRequest("Annabel", "Lee", "STU2"),
+                                new CreateStudentRequest("Alan", "Turing", "STU3"))))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/lecturers/{lecturerId}/add", "PROFHOPPER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateStudentRequest("Ann", "Mueller", "STU4"))))
+                .andExpect(status().isCreated());
+    }
+
+    private void createLecturer(String name, String surname, String lecturerId) throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest(name, surname, lecturerId))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should find lecturers created through the API by name, surname or id prefix, exact words first")
+    void shouldSearchLecturers() throws Exception {
+        mockMvc.perform(get("/lecturers/search").param("q", "ada"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].lecturerId", contains("PROFADA", "PROFSMITH")))
+                .andExpect(jsonPath("$[0].name").value("Ada"))
+                .andExpect(jsonPath("$[0].surname").value("Lovelace"));
+
+        mockMvc.perform(get("/lecturers/search").param("q", "HOP"))
+                .andExpect(jsonPath("$[*].lecturerId", contains("PROFHOPPER")));
+        mockMvc.perform(get("/lecturers/search").param("q", "profs"))
+                .andExpect(jsonPath("$[*].lecturerId", contains("PROFSMITH")));
+    }
+
+    @Test
+    @DisplayName("Should find students from both enrollment paths, ignoring case and accents")
+    void shouldSearchStudents() throws Exception {
+        mockMvc.perform(get("/students/search").param("q", "ann"))
+                .andExpect(jsonPath("$[*].studentId", contains("STU4", "STU1", "STU2")));
+        mockMvc.perform(get("/students/search").param("q", "MÜLL"))
+                .andExpect(jsonPath("$[*].studentId", contains("STU1")));
+        mockMvc.perform(get("/students/search").param("q", "ann mu"))
+                .andExpect(jsonPath("$[*].studentId", contains("STU4", "STU1")));
+        mockMvc.perform(get("/students/search").param("q", "stu3"))
+                .andExpect(jsonPath("$[*].name", contains("Alan")));
+    }
+
+    @Test
+    @DisplayName("Should order students by the matched word lexicographically, not by its length")
+    void shouldOrderByMatchedWord() throws Exception {
+        mockMvc.perform(post("/lecturers/{lecturerId}/add", "PROFHOPPER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateStudentRequest("Annb", "Zed", "STU0"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/students/search").param("q", "ann"))
+                .andExpect(jsonPath("$[*].studentId", contains("STU4", "STU1", "STU2", "STU0")));
+    }
+
+    @Test
+    @DisplayName("Should cap results at limit")
+    void shouldLimitResults() throws Exception {
+        mockMvc.perform(get("/students/search").param("q", "a").param("limit", "2"))
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/students/search").param("q", "a"))
+                .andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    @DisplayName("Should reject a blank query or a non-positive limit")
+    void shouldValidateParameters() throws Exception {
+        mockMvc.perform(get("/students/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/lecturers/search").param("q", "ada").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should index additions only once their transaction commits")
+    void shouldIndexAfterCommit() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            searchService.studentsCreated(List.of(new StudentSummaryDto("STU8", "Rolled", "Back")));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            searchService.studentsCreated(List.of(new StudentSummaryDto("STU9", "Rolled", "Forward")));
+            assertThat(searchService.searchStudents("rolled", null)).isEmpty();
+        });
+
+        mockMvc.perform(get("/students/search").param("q", "rolled"))
+                .andExpect(jsonPath("$[*].studentId", contains("STU9")));
+    }
+
+    @Test
+    @DisplayName("Should load rows that already exist when the indexes are built")
+    void shouldLoadExistingRows() throws Exception {
+        jdbcTemplate.update("INSERT INTO lecturers (lecturer_id, name, surname, version) VALUES ('PROFSQL', 'Edsger', 'Dijkstra', 0)");
+        mockMvc.perform(get("/lecturers/search").param("q", "dijk"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        searchService.loadIndexes();
+
+        mockMvc.perform(get("/lecturers/search").param("q", "dijk"))
+                .andExpect(jsonPath("$[*].lecturerId", contains("PROFSQL")));
+    }
+
+    @Test
+    @DisplayName("Should scan for the indexes inside one read-only transaction, so the fetch size applies")
+    void shouldLoadInReadOnlyTransaction() {
+        searchRepository.readOnly().clear();
+
+        searchService.loadIndexes();
+
+        assertThat(searchRepository.readOnly()).containsExactly(true, true);
+    }
+}
@@ -0,0 +1,241 @@
+package com.acme.integration;
+
+import com.acme.dto.request.BulkEnrollmentRequest;
+import com.acme.dto.request.CreateLecturerRequest;
+import com.acme.dto.request.CreateStudentRequest;
+import com.acme.support.SqlCountingConfiguration;
+import com.acme.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement budgets per endpoint. Read paths must not depend on roster size, so the large
+ * lecturer has LARGE_ROSTER students and the budgets are the same as for a one-student roster.
+ * If a budget breaks, the failure message lists the statements that ran.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlCountingConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+@DisplayName("SQL Statement Budget Tests")
+class SqlStatementBudgetTest {
+
+    private static final int LARGE_ROSTER = 500;
+    private static final String LARGE = "PROFLARGE";
+    private static final String SMALL = "PROFSMALL";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void seed() throws Exception {
+        createLecturer(LARGE);
+        createLecturer(SMALL);
+        List<CreateStudentRequest> students = new ArrayList<>();
+        for (int i = 0; i < LARGE_ROSTER; i++) {
+            students.add(new CreateStudentRequest("Student", "Large", String.format("STU%04d", i)));
+        }
+        enroll(LARGE, students);
+        enroll(SMALL, List.of(new CreateStudentRequest("Student", "Large", "STU0000")));
+        clearCaches();
+        sql.reset();
+    }
+
+    private void createLecturer(String lecturerId) throws Exception {
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Prof", "Budget", lecturerId))))
+                .andExpect(status().isCreated());
+    }
+
+    private void enroll(String lecturerId, List<CreateStudentRequest> students) throws Exception {
+        mockMvc.perform(post("/lecturers/{lecturerId}/add/batch", lecturerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))))
+                .andExpect(status().isOk());
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    /**
+     * Runs the request, including the async dispatch of streamed responses, with a fresh count.
+     */
+    private void run(RequestBuilder request) throws Exception {
+        sql.reset();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result));
+        }
+    }
+
+    private RequestBuilder addStudentRequest(String lecturerId, String studentId) throws Exception {
+        return post("/lecturers/{lecturerId}/add", lecturerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateStudentRequest("Student", "Large", studentId)));
+    }
+
+    @Nested
+    @DisplayName("Lecturer endpoints")
+    class LecturerBudgets {
+
+        @Test
+        @DisplayName("POST /lecturers: the insert alone")
+        void createLecturer() throws Exception {
+            run(post("/lecturers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateLecturerRequest("Prof", "Budget", "PROFNEW"))));
+            sql.assertExactly(1);
+        }
+
+        @Test
+        @DisplayName("GET /lecturers/{id}: the lecturer row with its version, and one roster page whatever the roster size")
+        void getLecturer() throws Exception {
+            run(get("/lecturers/{lecturerId}", LARGE));
+            sql.assertExactly(2);
+
+            run(get("/lecturers/{lecturerId}", SMALL));
+            sql.assertExactly(2);
+
+            run(get("/lecturers/{lecturerId}", LARGE).param("after", "STU0100").param("limit", "50"));
+            sql.assertExactly(2);
+        }
+
+        @Test
+        @DisplayName("GET /lecturers/{id}: no statements on a cache hit")
+        void getCachedLecturer() throws Exception {
+            run(get("/lecturers/{lecturerId}", LARGE));
+            run(get("/lecturers/{lecturerId}", LARGE));
+            sql.assertExactly(0);
+        }
+
+        @Test
+        @DisplayName("GET /lecturers/{id} with If-None-Match: version lookup only, none when cached")
+        void conditionalGetLecturer() throws Exception {
+            run(get("/lecturers/{lecturerId}", LARGE).header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+            sql.assertExactly(1);
+
+            run(get("/lecturers/{lecturerId}", LARGE));
+            run(get("/lecturers/{lecturerId}", LARGE).header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+            sql.assertExactly(0);
+        }
+
+        @Test
+        @DisplayName("POST /lecturers/{id}/add: same cost for a 1- and a 500-student roster")
+        void addStudent() throws Exception {
+            // lecturer, student, insert-if-absent, two version bumps, lecturer list for the response
+            run(addStudentRequest(SMALL, "STU0001"));
+            sql.assertExactly(6);
+
+            run(addStudentRequest(LARGE, "STU0001"));
+            // Already enrolled: stops after the insert-if-absent.
+            sql.assertExactly(3);
+
+            run(addStudentRequest(LARGE, "STU0001"));
+            // Nothing changed last time, so lecturer and student now come from the natural-id cache.
+            sql.assertExactly(1);
+
+            run(addStudentRequest(LARGE, "STUNEW"));
+            // + student insert, + a sequence call when the pooled block is used up
+            sql.assertAtMost(8);
+        }
+
+        @Test
+        @DisplayName("POST /lecturers/{id}/add/batch: one statement per step, not per student")
+        void addStudentsInBulk() throws Exception {
+            List<CreateStudentRequest> students = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                students.add(new CreateStudentRequest("Bulk", "Student", "STUBULK" + i));
+            }
+            students.add(new CreateStudentRequest("Student", "Large", "STU0002"));
+
+            run(post("/lecturers/{lecturerId}/add/batch", SMALL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(students))));
+            // lecturer, IN lookup, enrolled ids, sequence, student batch, enrollment batch, two version bumps
+            sql.assertAtMost(8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Student endpoints")
+    class StudentBudgets {
+
+        @Test
+        @DisplayName("GET /students/{id}: the student row with its version, and the lecturer list")
+        void getStudent() throws Exception {
+            run(get("/students/{studentId}", "STU0000"));
+            sql.assertExactly(2);
+
+            run(get("/students/{studentId}", "STU0000"));
+            sql.assertExactly(0);
+        }
+
+        @Test
+        @DisplayName("GET /students/{id} with If-None-Match: version lookup only")
+        void conditionalGetStudent() throws Exception {
+            run(get("/students/{studentId}", "STU0001").header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+            sql.assertExactly(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Export and import endpoints")
+    class BulkBudgets {
+
+        @Test
+        @DisplayName("GET /export/*: a single streamed query")
+        void export() throws Exception {
+            run(get("/export/lecturers"));
+            sql.assertExactly(1);
+
+            run(get("/export/students"));
+            sql.assertExactly(1);
+        }
+
+        @Test
+        @DisplayName("POST /import/enrollments: a fixed number of statements per chunk")
+        void importChunk() throws Exception {
+            String csv = """
+                    lecturerId,lecturerName,lecturerSurname,studentId,studentName,studentSurname
+                    PROFSMALL,Prof,Budget,STU0005,Student,Large
+                    PROFIMPORT,Prof,Import,STUIMPORT,Student,Import
+                    """;
+            run(post("/import/enrollments").contentType("text/csv").content(csv));
+            // two lookups, two inserts, the new lecturers' IDENTITY re-read, enrollments, two version bumps
+            sql.assertExactly(8);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -189,4 +190,89 @@ class StudentIntegrationTest {
                     .andExpect(jsonPath("$.fieldErrors.surname").value("Surname must contain only alphanumeric characters"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Response Cache")
+    class ResponseCacheTests {
+
+        @Test
+        @DisplayName("Should invalidate cached student and lecturer when enrollment changes")
+        void shouldInvalidateCachedResponsesWhenEnrollmentChanges() throws Exception {
+            LecturerResponse lecturer1 = createLecturer("Prof", "Alpha");
+            LecturerResponse lecturer2 = createLecturer("Prof", "Beta");
+            StudentResponse student = addStudentToLecturer(lecturer1.lecturerId(), "Erika", "Musterfrau");
+
+            mockMvc.perform(get("/students/{studentId}", student.studentId()))
+                    .andExpect(jsonPath("$.lecturers.length()").value(1));
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer2.lecturerId()))
+                    .andExpect(jsonPath("$.students").isEmpty());
+
+            addStudentToLecturer(lecturer2.lecturerId(), "Erika", "Musterfrau");
+
+            mockMvc.perform(get("/students/{studentId}", student.studentId()))
+                    .andExpect(jsonPath("$.lecturers.length()").value(2));
+            mockMvc.perform(get("/lecturers/{lecturerId}", lecturer2.lecturerId()))
+                    .andExpect(jsonPath("$.students[0].studentId").value(student.studentId()));
+        }
+
+        @Test
+        @DisplayName("Should serve repeated reads from cache and record hits")
+        void shouldServeRepeatedReadsFromCache() throws Exception {
+            LecturerResponse lecturer = createLecturer("Prof", "Gamma");
+            StudentResponse student = addStudentToLecturer(lecturer.lecturerId(), "Hans", "Mueller");
+
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(get("/students/{studentId}", student.studentId()))
+                        .andExpect(status().isOk());
+            }
+
+            mockMvc.perform(get("/actuator/metrics/cache.gets")
+                            .param("tag", "cache:students")
+                            .param("tag", "result:hit"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.measurements[0].value").value(2.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Should return not modified for a matching ETag and a new ETag after enrollment")
+        void shouldHonorIfNoneMatch() throws Exception {
+            LecturerResponse lecturer1 = createLecturer("Prof", "Delta");
+            LecturerResponse lecturer2 = createLecturer("Prof", "Epsilon");
+            StudentResponse student = addStudentToLecturer(lecturer1.lecturerId(), "Jan", "Novak");
+
+            String eTag = mockMvc.perform(get("/students/{studentId}", student.studentId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/students/{studentId}", student.studentId())
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                    .andExpect(content().string(""));
+
+            addStudentToLecturer(lecturer2.lecturerId(), "Jan", "Novak");
+
+            mockMvc.perform(get("/students/{studentId}", student.studentId())
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(result -> assertThat(result.getResponse().getHeaders(HttpHeaders.ETAG))
+                            .hasSize(1)
+                            .doesNotContain(eTag))
+                    .andExpect(jsonPath("$.lecturers.length()").value(2));
+        }
+
+        @Test
+        @DisplayName("Should return not found for a conditional GET of a non-existent student")
+        void shouldReturnNotFoundForConditionalGetOfNonExistentStudent() throws Exception {
+            mockMvc.perform(get("/students/{studentId}", NON_EXISTENT_ID)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.acme.integration;
+
+import com.acme.dto.request.CreateLecturerRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles({"test", "virtual"})
+@DisplayName("Virtual Thread Mode Integration Tests")
+class VirtualThreadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should serve requests through the database bulkhead")
+    void shouldServeRequestsThroughBulkhead() throws Exception {
+        CreateLecturerRequest request = new CreateLecturerRequest("Max", "Mustermann", "PROFVIRTUAL");
+
+        mockMvc.perform(post("/lecturers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/lecturers/{lecturerId}", "PROFVIRTUAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lecturerId").value("PROFVIRTUAL"));
+    }
+
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(properties = {
+            "acme.db-bulkhead.max-concurrent-calls=0",
+            "acme.db-bulkhead.max-wait=0s"
+    })
+    @AutoConfigureMockMvc
+    @ActiveProfiles({"test", "virtual"})
+    @DisplayName("When the bulkhead is saturated")
+    class SaturatedBulkheadTests {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Should reject with service unavailable and Retry-After")
+        void shouldRejectWithServiceUnavailable() throws Exception {
+            mockMvc.perform(get("/lecturers/{lecturerId}", "PROFVIRTUAL"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.message").value("The service is busy. Please retry shortly."));
+        }
+    }
+}
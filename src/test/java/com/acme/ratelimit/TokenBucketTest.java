@@ -0,0 +1,71 @@
+package com.acme.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Token Bucket Tests")
+class TokenBucketTest {
+
+    private static final long PERIOD = TimeUnit.SECONDS.toNanos(10);
+
+    // Arbitrary and negative, as nanoTime may be.
+    private static final long START = -TimeUnit.DAYS.toNanos(1);
+
+    @Test
+    @DisplayName("Should refill one token per period / capacity, not the whole budget at a boundary")
+    void shouldRefillInProportionToElapsedTime() {
+        TokenBucket bucket = new TokenBucket(20, PERIOD, START);
+        long burst = START + PERIOD - 1;
+        for (int i = 0; i < 20; i++) {
+            assertThat(bucket.tryConsume(burst).consumed()).isTrue();
+        }
+
+        // A fixed window would start over here, two nanoseconds after the burst.
+        assertThat(bucket.tryConsume(START + PERIOD + 1).consumed()).isFalse();
+
+        long nextToken = burst + TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(bucket.tryConsume(nextToken - 1).consumed()).isFalse();
+        assertThat(bucket.tryConsume(nextToken).consumed()).isTrue();
+        assertThat(bucket.tryConsume(nextToken).consumed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should admit at most capacity plus what refilled in any window")
+    void shouldNotAdmitDoubleBursts() {
+        TokenBucket bucket = new TokenBucket(20, PERIOD, START);
+        int admitted = 0;
+        for (long now = START; now < START + PERIOD; now += TimeUnit.MILLISECONDS.toNanos(10)) {
+            while (bucket.tryConsume(now).consumed()) {
+                admitted++;
+            }
+        }
+        // 20 at once, then one every 0.5 s for the rest of the 10 seconds.
+        assertThat(admitted).isEqualTo(39);
+    }
+
+    @Test
+    @DisplayName("Should report the remaining tokens, when the bucket is full and when the next token comes")
+    void shouldReportProbe() {
+        TokenBucket bucket = new TokenBucket(4, PERIOD, START);
+
+        TokenBucket.Probe first = bucket.tryConsume(START);
+        assertThat(first.remaining()).isEqualTo(3);
+        assertThat(first.nanosUntilFull()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(2500));
+
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(START);
+        }
+        TokenBucket.Probe rejected = bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(1));
+        assertThat(rejected.consumed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.nanosUntilFull()).isEqualTo(TimeUnit.SECONDS.toNanos(9));
+        assertThat(rejected.nanosUntilNextToken()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        TokenBucket.Probe refilled = bucket.tryConsume(START + PERIOD);
+        assertThat(refilled.remaining()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,37 @@
+package com.acme.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Import into a test to wrap the DataSource in a counting proxy and inject {@link SqlStatementCounter}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlCountingConfiguration {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(counter.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
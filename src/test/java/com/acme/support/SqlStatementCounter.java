@@ -0,0 +1,80 @@
+package com.acme.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts JDBC round trips on the application DataSource, whether they come from Hibernate or
+ * JdbcTemplate. A JDBC batch counts once, however many rows it carries. Failed assertions list
+ * the statements that ran, which is usually enough to spot the lazy load that caused them.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    /**
+     * A statement as executed; for a batch, the parameters of its first entry.
+     */
+    public record ExecutedStatement(String sql, List<Object> parameters) {}
+
+    private final List<ExecutedStatement> statements = new ArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            statements.add(new ExecutedStatement("<empty>", List.of()));
+            return;
+        }
+        QueryInfo query = queryInfoList.get(0);
+        statements.add(new ExecutedStatement(query.getQuery(), query.getParametersList().isEmpty()
+                ? List.of()
+                : parameters(query.getParametersList().get(0))));
+    }
+
+    private static List<Object> parameters(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> operation.getArgs()[1])
+                .toList();
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+    }
+
+    public synchronized int count() {
+        return statements.size();
+    }
+
+    public synchronized List<String> statements() {
+        return statements.stream().map(ExecutedStatement::sql).toList();
+    }
+
+    public synchronized List<ExecutedStatement> executed() {
+        return List.copyOf(statements);
+    }
+
+    public void assertExactly(int expected) {
+        List<String> executed = statements();
+        assertThat(executed.size())
+                .as("SQL statements executed:%n%s", String.join(System.lineSeparator(), executed))
+                .isEqualTo(expected);
+    }
+
+    public void assertAtMost(int budget) {
+        List<String> executed = statements();
+        assertThat(executed.size())
+                .as("SQL statements executed:%n%s", String.join(System.lineSeparator(), executed))
+                .isLessThanOrEqualTo(budget);
+    }
+}